@@ -5979,6 +5979,13 @@ void handlePaint(Event event) {
 	if (rightMargin > 0) {
 		drawBackground(gc, clientAreaWidth - rightMargin, 0, rightMargin, clientAreaHeight);
 	}
+
+	// shape the line above and the page below the visible lines in the background
+	if (!isSingleLine()) {
+		int bottomIndex = getPartialBottomIndex();
+		renderer.prefetchTextLayouts(topIndex - 1, topIndex);
+		renderer.prefetchTextLayouts(bottomIndex + 1, 2 * bottomIndex - topIndex + 2);
+	}
 }
 /**
  * Recalculates the scroll bars. Rewraps all lines when in word
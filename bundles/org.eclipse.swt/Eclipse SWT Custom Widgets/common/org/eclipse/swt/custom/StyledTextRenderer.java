@@ -428,6 +428,25 @@ void disposeTextLayout (TextLayout layout) {
 	}
 	layout.dispose();
 }
+/**
+ * Starts shaping the layouts of the given lines in the background, so that
+ * they are ready when the lines are scrolled into view. Only lines which
+ * fall into the layout cache and have no layout yet are prefetched.
+ *
+ * @param startLine the first line to prefetch
+ * @param endLine the line after the last line to prefetch
+ */
+void prefetchTextLayouts(int startLine, int endLine) {
+	if (!SkijaParagraphShaper.ENABLED || layouts == null) return;
+	endLine = Math.min(endLine, content.getLineCount());
+	for (int lineIndex = Math.max(0, startLine); lineIndex < endLine; lineIndex++) {
+		int layoutIndex = lineIndex - topIndex;
+		if (layoutIndex < 0 || layoutIndex >= layouts.length || layouts[layoutIndex] != null) continue;
+		TextLayout layout = getTextLayout(lineIndex);
+		SkijaParagraphShaper.prefetch(layout);
+		disposeTextLayout(layout);
+	}
+}
 void drawBullet(Bullet bullet, GC gc, int paintX, int paintY, int index, int lineAscent, int lineDescent) {
 	StyleRange style = bullet.style;
 	GlyphMetrics metrics = style.metrics;
@@ -53,6 +53,7 @@ public class Pattern extends Resource {
 
 	long surface;
 	private final Image image;
+	SkijaPatternShader skijaShader;
 
 /**
  * Constructs a new Pattern given an image. Drawing with the resulting
@@ -92,6 +93,7 @@ public Pattern(Device device, Image image) {
 	if (handle == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	Cairo.cairo_pattern_set_extend(handle, Cairo.CAIRO_EXTEND_REPEAT);
 	surface = image.surface;
+	skijaShader = SkijaPatternShader.forImage(image);
 	init();
 }
 
@@ -184,11 +186,13 @@ public Pattern(Device device, float x1, float y1, float x2, float y2, Color colo
 	NativeGC.setCairoPatternColor(handle, 1, color2, alpha2);
 	Cairo.cairo_pattern_set_extend(handle, Cairo.CAIRO_EXTEND_REPEAT);
 	this.image=null;
+	skijaShader = SkijaPatternShader.forGradient(x1, y1, x2, y2, color1, alpha1, color2, alpha2);
 	init();
 }
 
 @Override
 void destroy() {
+	skijaShader.dispose();
 	Cairo.cairo_pattern_destroy(handle);
 	handle = surface = 0;
 }
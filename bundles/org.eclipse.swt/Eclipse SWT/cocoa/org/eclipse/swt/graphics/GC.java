@@ -154,7 +154,11 @@ void initNonDisposeTracking() {
  * @since 2.1.2
  */
 public GC(Drawable drawable, int style) {
-	innerGC = new NativeGC(drawable, style);
+	if (SWT.USE_SKIJA && SkijaGC.OFFSCREEN && drawable instanceof Image image) {
+		innerGC = SkijaGC.createImageInstance(image, style);
+	} else {
+		innerGC = new NativeGC(drawable, style);
+	}
 }
 
 /**
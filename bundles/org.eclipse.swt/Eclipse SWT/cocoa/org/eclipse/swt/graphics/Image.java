@@ -109,7 +109,7 @@ public final class Image extends Resource implements Drawable {
 	/**
 	 * The GC the image is currently selected in.
 	 */
-	NativeGC memGC;
+	GCHandle memGC;
 
 	/**
 	 * The global alpha value to be used for every pixel.
@@ -1182,6 +1182,7 @@ private NSBitmapImageRep createRepresentation(ImageData imageData, AlphaInfo alp
 @Override
 void destroy() {
 	if (memGC != null) memGC.dispose();
+	SkijaImageCache.invalidate(this);
 	handle.release();
 	handle = null;
 	memGC = null;
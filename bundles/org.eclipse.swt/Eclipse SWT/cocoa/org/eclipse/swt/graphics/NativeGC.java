@@ -999,6 +999,7 @@ void destroy() {
 	if (image != null) {
 		image.memGC = null;
 		image.createAlpha();
+		SkijaImageCache.invalidate(image);
 	}
 	if (data.textStorage != null) data.textStorage.release();
 	data.textStorage = null;
@@ -1244,6 +1245,18 @@ public void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcH
 	}
 }
 
+/**
+ * Draws a block of premultiplied 32-bit pixels in native byte order without
+ * going through an intermediate <code>Image</code>. Not yet supported on
+ * this platform, callers have to fall back to drawing an <code>Image</code>.
+ *
+ * @return <code>true</code> if the pixels have been transferred
+ */
+boolean drawPixels(long pixels, int stride, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	return false;
+}
+
 /**
  * Draws a line, using the foreground color, between the points
  * (<code>x1</code>, <code>y1</code>) and (<code>x2</code>, <code>y2</code>).
@@ -42,6 +42,7 @@ public class Pattern extends Resource {
 	Image image;
 	double [] color1, color2;
 	int alpha1, alpha2;
+	SkijaPatternShader skijaShader;
 
 /**
  * Constructs a new Pattern given an image. Drawing with the resulting
@@ -79,6 +80,7 @@ public Pattern(Device device, Image image) {
 	if (!NSThread.isMainThread()) pool = (NSAutoreleasePool) new NSAutoreleasePool().alloc().init();
 	try {
 		this.image = image;
+		skijaShader = SkijaPatternShader.forImage(image);
 		color = NSColor.colorWithPatternImage(image.handle);
 		color.retain();
 		init();
@@ -186,6 +188,7 @@ public Pattern(Device device, float x1, float y1, float x2, float y2, Color colo
 		NSColor start = NSColor.colorWithDeviceRed(color1.handle[0], color1.handle[1], color1.handle[2], alpha1 / 255f);
 		NSColor end = NSColor.colorWithDeviceRed(color2.handle[0], color2.handle[1], color2.handle[2], alpha2 / 255f);
 		gradient = ((NSGradient)new NSGradient().alloc()).initWithStartingColor(start, end);
+		skijaShader = SkijaPatternShader.forGradient(x1, y1, x2, y2, color1, alpha1, color2, alpha2);
 		init();
 	} finally {
 		if (pool != null) pool.release();
@@ -194,6 +197,7 @@ public Pattern(Device device, float x1, float y1, float x2, float y2, Color colo
 
 @Override
 void destroy() {
+	skijaShader.dispose();
 	if (color != null) color.release();
 	color = null;
 	if (gradient != null) gradient.release();
@@ -497,6 +497,29 @@ long regionToRects(long message, long rgn, long r, long path) {
 	return 0;
 }
 
+java.util.List<Rectangle> rectangles;
+/**
+ * Returns the rectangles the receiver consists of.
+ */
+Rectangle[] getRectangles() {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	Callback callback = new Callback(this, "collectRects", 4);
+	rectangles = new java.util.ArrayList<>();
+	OS.QDRegionToRects(handle, OS.kQDParseRegionFromTopLeft, callback.getAddress(), 0);
+	callback.dispose();
+	Rectangle[] result = rectangles.toArray(new Rectangle[rectangles.size()]);
+	rectangles = null;
+	return result;
+}
+
+long collectRects(long message, long rgn, long r, long unused) {
+	if (message == OS.kQDRegionToRectsMsgParse) {
+		C.memmove(rect, r, rect.length * 2);
+		rectangles.add(new Rectangle(rect[1], rect[0], rect[3] - rect[1], rect[2] - rect[0]));
+	}
+	return 0;
+}
+
 /**
  * Returns an integer hash code for the receiver. Any two
  * objects that return <code>true</code> when passed to
@@ -21,10 +21,11 @@ public final class Drawing {
 	}
 
 	public static GC createGraphicsContext(GC originalGC, Control control) {
-		return createGraphicsContext(originalGC, control, false);
+		return createGraphicsContext(originalGC, control, false, null);
 	}
 
-	private static GC createGraphicsContext(GC originalGC, Control control, boolean onlyForMeasuring) {
+	private static GC createGraphicsContext(GC originalGC, Control control, boolean onlyForMeasuring,
+			Rectangle damage) {
 		if (!SWT.USE_SKIJA) {
 			return originalGC;
 		}
@@ -35,13 +36,26 @@ public final class Drawing {
 
 		GC gc = new GC();
 
-		gc.innerGC = onlyForMeasuring
-				? SkijaGC.createMeasureInstance(originalNativeGC, control)
-				: SkijaGC.createDefaultInstance(originalNativeGC, control);
+		if (onlyForMeasuring) {
+			gc.innerGC = SkijaGC.createMeasureInstance(originalNativeGC, control);
+		} else {
+			SkijaBackingSurface backingSurface = getBackingSurface(control);
+			gc.innerGC = SkijaGC.createDefaultInstance(originalNativeGC, control, backingSurface, damage);
+		}
 
 		return gc;
 	}
 
+	private static SkijaBackingSurface getBackingSurface(Control control) {
+		if (control instanceof CustomControl customControl) {
+			return customControl.getBackingSurface();
+		}
+		if (control instanceof CustomComposite customComposite) {
+			return customComposite.getBackingSurface();
+		}
+		return null;
+	}
+
 	/**
 	 * Executes the given drawing operation of the given control on a GC. If the
 	 * given GC is not null, it is used as the target GC for the rendering result,
@@ -53,6 +67,22 @@ public final class Drawing {
 	 * @param drawOperation the operation that draws the control
 	 */
 	public static void drawWithGC(Control control, GC originalGC, Consumer<GC> drawOperation) {
+		drawWithGC(control, originalGC, null, drawOperation);
+	}
+
+	/**
+	 * Executes the given drawing operation of the given control on a GC, limited
+	 * to the given damaged area. The GC is clipped to the damaged area, so the
+	 * operation may skip everything outside of {@link GC#getClipping()}, and only
+	 * the damaged area is transferred to the given GC.
+	 *
+	 * @param control       the control to execute the operation on
+	 * @param originalGC    a GC already created for the given control or null
+	 * @param damage        the area to repaint in control coordinates, null or
+	 *                      empty for the whole control
+	 * @param drawOperation the operation that draws the control
+	 */
+	public static void drawWithGC(Control control, GC originalGC, Rectangle damage, Consumer<GC> drawOperation) {
 		Rectangle bounds = control.getBounds();
 		if (originalGC != null && originalGC.innerGC instanceof NativeGC nativeGC
 				&& nativeGC.drawable instanceof Control gcControl) {
@@ -61,22 +91,36 @@ public final class Drawing {
 			}
 		}
 
+		Rectangle clipping = new Rectangle(0, 0, bounds.width, bounds.height);
+		if (damage != null && damage.isEmpty()) {
+			// e.g. synthetic paint events without bounds
+			damage = null;
+		}
+		if (damage != null) {
+			clipping = clipping.intersection(damage);
+			if (clipping.isEmpty()) {
+				return;
+			}
+		}
+
 		boolean usingTemporaryGC = false;
 		if (originalGC == null) {
 			originalGC = new GC(control);
 			usingTemporaryGC = true;
 		}
 
-		GC gc = createGraphicsContext(originalGC, control);
+		GC gc = createGraphicsContext(originalGC, control, false, damage != null ? clipping : null);
 		gc.setFont(control.getFont());
 		gc.setForeground(control.getForeground());
 		gc.setBackground(control.getBackground());
-		gc.setClipping(new Rectangle(0, 0, bounds.width, bounds.height));
+		gc.setClipping(clipping);
 		gc.setAntialias(SWT.ON);
 
 		try {
 			drawOperation.accept(gc);
+			long begin = SkijaInstrumentation.begin();
 			gc.commit();
+			SkijaInstrumentation.end(SkijaInstrumentation.Phase.COMMIT, control.getClass(), begin);
 		} finally {
 			// Only dispose gc if it is not the originalGC from paint event
 			if (gc != originalGC) {
@@ -110,13 +154,42 @@ public final class Drawing {
 		}
 	}
 
+	/**
+	 * Returns the extent of the given text in the font of the given control. With
+	 * Skija, the text is measured without creating a GC.
+	 *
+	 * @param control   the control whose font is used
+	 * @param text      the text to measure
+	 * @param drawFlags the flags specifying how to process the text
+	 * @return the extent of the text
+	 */
 	public static Point getTextExtent(Control control, String text, int drawFlags) {
+		if (SWT.USE_SKIJA) {
+			return SkijaTextMeasurer.getMeasurer(control.getDisplay()).textExtent(control.getFont(), text, drawFlags);
+		}
 		return measure(control, gc -> {
 			gc.setFont(control.getFont());
 			return gc.textExtent(text, drawFlags);
 		});
 	}
 
+	/**
+	 * Returns the metrics of the font of the given control. With Skija, the
+	 * metrics are determined without creating a GC.
+	 *
+	 * @param control the control whose font is used
+	 * @return the metrics of the font of the control
+	 */
+	public static FontMetrics getFontMetrics(Control control) {
+		if (SWT.USE_SKIJA) {
+			return SkijaTextMeasurer.getMeasurer(control.getDisplay()).getFontMetrics(control.getFont());
+		}
+		return measure(control, gc -> {
+			gc.setFont(control.getFont());
+			return gc.getFontMetrics();
+		});
+	}
+
 	/**
 	 * Executes the given non-drawing operation on a GC. The GC is automatically
 	 * generated and disposed. The type of GC depends on global configuration.
@@ -127,14 +200,16 @@ public final class Drawing {
 	 * @return the result of the given operation
 	 */
 	public static <T> T measure(Control control, Function<GC, T> operation) {
+		long begin = SkijaInstrumentation.begin();
 		GC originalGC = new GC(control);
 		originalGC.setFont(control.getFont());
-		GC gc = createGraphicsContext(originalGC, control, true);
+		GC gc = createGraphicsContext(originalGC, control, true, null);
 		try {
 			return operation.apply(gc);
 		} finally {
 			gc.dispose();
 			originalGC.dispose();
+			SkijaInstrumentation.end(SkijaInstrumentation.Phase.MEASURE, control.getClass(), begin);
 		}
 	}
 }
\ No newline at end of file
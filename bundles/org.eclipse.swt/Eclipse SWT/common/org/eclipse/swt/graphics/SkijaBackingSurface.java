@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.internal.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * A raster surface that is owned by a custom-drawn control and reused across
+ * paints. The surface is only reallocated if the size in pixels or the zoom
+ * changes. The captured parent background is kept until it is invalidated.
+ * <p>
+ * When a control scrolls, its rendering is shifted within the surface, so the
+ * next paint only has to render the exposed part.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaBackingSurface {
+
+	private Surface surface;
+	private int zoom;
+	private io.github.humbleui.skija.Image background;
+	// whether the surface holds a rendering of the whole control
+	private boolean rendered;
+	// the bounds of the redraws since the last paint, and the area of the scrolls
+	// since the last paint, in points
+	private Rectangle dirtyArea;
+	private Rectangle scrollArea;
+	private Bitmap scrollBuffer;
+
+	/**
+	 * Returns a surface of the given size in pixels, reusing the current one if
+	 * possible. A reallocation drops the cached background.
+	 */
+	Surface acquire(int width, int height, int zoom) {
+		if (surface != null && !surface.isClosed() && surface.getWidth() == width && surface.getHeight() == height
+				&& this.zoom == zoom) {
+			return surface;
+		}
+		release();
+		this.zoom = zoom;
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.SURFACES);
+		surface = Surface.makeRaster(ImageInfo.makeN32Premul(width, height), 0, new SurfaceProps(PixelGeometry.RGB_H));
+		return surface;
+	}
+
+	/**
+	 * Marks the surface as holding a rendering of the whole control.
+	 */
+	void markRendered() {
+		rendered = true;
+	}
+
+	/**
+	 * Shifts the rendering within the given area by the given distance, all in
+	 * points. The next paint only renders the part of the area which was exposed
+	 * and the areas redrawn since the last paint, the rest of the damage is
+	 * committed from the shifted rendering. Scrolls which are not painted yet
+	 * accumulate.
+	 *
+	 * @return <code>false</code> if there is no up-to-date rendering to shift,
+	 *         then everything has to be rendered again
+	 */
+	public boolean scroll(Rectangle area, int deltaX, int deltaY) {
+		// the exposed part is filled with the captured background, it cannot be read
+		// back from the native window before the scroll is committed
+		if (surface == null || surface.isClosed() || !rendered || background == null
+				|| (scrollArea != null && !scrollArea.equals(area))) {
+			return false;
+		}
+		Rectangle moved = area.intersection(translate(area, deltaX, deltaY));
+		if (!moved.isEmpty()) {
+			shiftPixels(translate(moved, -deltaX, -deltaY), deltaX, deltaY);
+		}
+
+		Rectangle dirty;
+		if (moved.isEmpty() || (deltaX != 0 && deltaY != 0)) {
+			dirty = area;
+		} else if (deltaX == 0) {
+			dirty = new Rectangle(area.x, deltaY > 0 ? area.y : moved.y + moved.height, area.width,
+					area.height - moved.height);
+		} else {
+			dirty = new Rectangle(deltaX > 0 ? area.x : moved.x + moved.width, area.y, area.width - moved.width,
+					area.height);
+		}
+		if (dirtyArea != null) {
+			// outdated parts within the area are moved along, the others stay in place
+			Rectangle movedDirty = area.intersection(translate(dirtyArea, deltaX, deltaY));
+			if (!movedDirty.isEmpty()) {
+				dirty = dirty.union(movedDirty);
+			}
+			if (!area.intersection(dirtyArea).equals(dirtyArea)) {
+				dirty = dirty.union(dirtyArea);
+			}
+		}
+		scrollArea = area;
+		dirtyArea = dirty;
+		return true;
+	}
+
+	private void shiftPixels(Rectangle source, int deltaX, int deltaY) {
+		Rectangle sourceInPixels = DPIUtil.scaleUp(source, zoom);
+		int width = Math.min(sourceInPixels.width, surface.getWidth() - sourceInPixels.x);
+		int height = Math.min(sourceInPixels.height, surface.getHeight() - sourceInPixels.y);
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		// the pixels are copied through a buffer kept for the next scroll, as rows
+		// of the source and the destination overlap
+		if (scrollBuffer == null || scrollBuffer.getImageInfo().getWidth() != width
+				|| scrollBuffer.getImageInfo().getHeight() != height) {
+			if (scrollBuffer != null) {
+				scrollBuffer.close();
+			}
+			scrollBuffer = new Bitmap();
+			scrollBuffer.allocPixels(surface.getImageInfo().withWidthHeight(width, height));
+		}
+		surface.readPixels(scrollBuffer, sourceInPixels.x, sourceInPixels.y);
+		surface.writePixels(scrollBuffer, sourceInPixels.x + DPIUtil.scaleUp(deltaX, zoom),
+				sourceInPixels.y + DPIUtil.scaleUp(deltaY, zoom));
+	}
+
+	private static Rectangle translate(Rectangle rect, int deltaX, int deltaY) {
+		return new Rectangle(rect.x + deltaX, rect.y + deltaY, rect.width, rect.height);
+	}
+
+	/**
+	 * Returns the area in points which has to be rendered by the next paint after
+	 * a scroll. Returns <code>null</code> if nothing was scrolled, then the whole
+	 * damage has to be rendered.
+	 */
+	public Rectangle getRenderArea() {
+		return scrollArea != null ? dirtyArea : null;
+	}
+
+	/**
+	 * Returns the area like {@link #getRenderArea()}, and forgets the redraws and
+	 * scrolls.
+	 */
+	Rectangle takeRenderArea() {
+		Rectangle renderArea = getRenderArea();
+		scrollArea = null;
+		dirtyArea = null;
+		return renderArea;
+	}
+
+	/**
+	 * Marks the whole rendering as outdated, e.g. because the control is redrawn.
+	 * The rendering cannot be scrolled until the control is rendered completely
+	 * again.
+	 */
+	public void invalidate() {
+		rendered = false;
+		scrollArea = null;
+		dirtyArea = null;
+	}
+
+	/**
+	 * Marks the given area of the rendering in points as outdated.
+	 */
+	public void invalidate(Rectangle area) {
+		dirtyArea = dirtyArea == null ? area : dirtyArea.union(area);
+	}
+
+	io.github.humbleui.skija.Image getBackground() {
+		return background;
+	}
+
+	void setBackground(io.github.humbleui.skija.Image background) {
+		invalidateBackground();
+		this.background = background;
+	}
+
+	/**
+	 * Drops the captured parent background, so that it is captured again on the
+	 * next paint. To be called whenever the pixels behind the control may have
+	 * changed.
+	 */
+	public void invalidateBackground() {
+		// the exposed part of a pending scroll must not be rendered on the stale
+		// background, so the whole damage is rendered
+		scrollArea = null;
+		dirtyArea = null;
+		if (background != null) {
+			background.close();
+			background = null;
+		}
+	}
+
+	/**
+	 * Releases the native memory of the surface and the captured background. The
+	 * surface is allocated again on the next paint.
+	 */
+	public void release() {
+		invalidateBackground();
+		invalidate();
+		if (surface != null) {
+			surface.close();
+			surface = null;
+		}
+		if (scrollBuffer != null) {
+			scrollBuffer.close();
+			scrollBuffer = null;
+		}
+	}
+
+	public boolean isAllocated() {
+		return surface != null;
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * The system font, colors and resolution of a device, as text layouts and the
+ * Skia caches need them. A display only hands them out on its own thread, so
+ * they are captured there once, which lets layouts be built and measured on
+ * other threads. A thread which needs them before the display thread has
+ * captured them waits for the display thread to do so.
+ */
+final class SkijaDeviceDefaults {
+
+	private static final Map<Device, SkijaDeviceDefaults> DEFAULTS = new ConcurrentHashMap<>();
+
+	final Font systemFont;
+	final Color black;
+	final Color listForeground;
+	final Color listBackground;
+	final Color linkForeground;
+	final Point dpi;
+
+	private SkijaDeviceDefaults(Device device) {
+		systemFont = device.getSystemFont();
+		black = device.getSystemColor(SWT.COLOR_BLACK);
+		listForeground = device.getSystemColor(SWT.COLOR_LIST_FOREGROUND);
+		listBackground = device.getSystemColor(SWT.COLOR_LIST_BACKGROUND);
+		linkForeground = device.getSystemColor(SWT.COLOR_LINK_FOREGROUND);
+		dpi = device.getDPI();
+	}
+
+	/**
+	 * Returns the defaults of the given device. They are dropped when the display
+	 * is disposed.
+	 */
+	static SkijaDeviceDefaults get(Device device) {
+		SkijaDeviceDefaults defaults = DEFAULTS.get(device);
+		if (defaults != null) {
+			return defaults;
+		}
+		if (device instanceof Display display && display.getThread() != Thread.currentThread()) {
+			display.syncExec(() -> get(display));
+			return DEFAULTS.get(display);
+		}
+		return DEFAULTS.computeIfAbsent(device, d -> {
+			if (d instanceof Display display) {
+				display.disposeExec(() -> DEFAULTS.remove(display));
+			}
+			return new SkijaDeviceDefaults(d);
+		});
+	}
+
+	/**
+	 * Runs the given runnable when the given display is disposed. Unlike
+	 * {@link Display#disposeExec(Runnable)}, it may be called from any thread.
+	 */
+	static void disposeExec(Display display, Runnable runnable) {
+		if (display.getThread() == Thread.currentThread()) {
+			display.disposeExec(runnable);
+		} else {
+			display.asyncExec(() -> {
+				if (!display.isDisposed()) {
+					display.disposeExec(runnable);
+				}
+			});
+		}
+	}
+}
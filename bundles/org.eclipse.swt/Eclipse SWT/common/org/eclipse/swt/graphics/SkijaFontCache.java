@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.widgets.*;
+
+import io.github.humbleui.skija.*;
+import io.github.humbleui.skija.Font;
+
+/**
+ * Caches the Skia fonts of a device in two levels. The typefaces are shared by
+ * family and style, so fonts which only differ in size do not look up the
+ * typeface again. The fonts are cached by typeface, pixel size and zoom, the
+ * least recently used fonts are closed once the number of fonts exceeds the
+ * limit, which can be configured with the system property
+ * <code>org.eclipse.swt.skija.fontCacheSize</code>.
+ * <p>
+ * Fonts returned by {@link #getFont(FontData, int)} are owned by the cache. As
+ * they are used by several threads, a font which is evicted or dropped by
+ * {@link #clear()} is not closed, so that its holders can keep using it. It is
+ * released by the garbage collector once it is no longer referenced.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaFontCache {
+
+	static final int DEFAULT_MAX_FONTS = Integer.getInteger("org.eclipse.swt.skija.fontCacheSize", 256); //$NON-NLS-1$
+
+	/** The size of a font created without size. */
+	private static final float DEFAULT_FONT_SIZE = 12;
+
+	private static final Map<Device, SkijaFontCache> CACHES = new ConcurrentHashMap<>();
+
+	private record TypefaceKey(String family, int style) {
+	}
+
+	private record FontKey(Typeface typeface, int pixelSize, int zoom) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof FontKey other && other.typeface == typeface && other.pixelSize == pixelSize
+					&& other.zoom == zoom;
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(typeface) * 31 + pixelSize) * 31 + zoom;
+		}
+	}
+
+	private final Device device;
+	private final Map<TypefaceKey, Typeface> typefaces = new HashMap<>();
+	private final LinkedHashMap<FontKey, Font> fonts = new LinkedHashMap<>(64, 0.75f, true);
+	// the factor from points to pixels at 100% zoom, determined once per device
+	private float pointsToPixels = -1;
+	private int maxFonts = DEFAULT_MAX_FONTS;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	private SkijaFontCache(Device device) {
+		this.device = device;
+	}
+
+	/**
+	 * Returns the font cache of the given device. The cache of a display is
+	 * cleared when the display is disposed.
+	 */
+	public static SkijaFontCache getCache(Device device) {
+		SkijaFontCache cache = CACHES.get(device);
+		if (cache == null) {
+			cache = new SkijaFontCache(device);
+			SkijaFontCache existing = CACHES.putIfAbsent(device, cache);
+			if (existing != null) {
+				return existing;
+			}
+			if (device instanceof Display display) {
+				SkijaFontCache created = cache;
+				SkijaDeviceDefaults.disposeExec(display, () -> {
+					CACHES.remove(display);
+					created.clear();
+				});
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the shared typeface for the family and style of the given font
+	 * data. The typeface is owned by the cache and must not be closed.
+	 */
+	synchronized Typeface getTypeface(FontData fontData) {
+		TypefaceKey key = new TypefaceKey(fontData.getName(), fontData.getStyle() & (SWT.BOLD | SWT.ITALIC));
+		return typefaces.computeIfAbsent(key, k -> Typeface.makeFromName(k.family(), toFontStyle(k.style())));
+	}
+
+	private static FontStyle toFontStyle(int style) {
+		boolean isBold = (style & SWT.BOLD) != 0;
+		boolean isItalic = (style & SWT.ITALIC) != 0;
+		if (isBold && isItalic) {
+			return FontStyle.BOLD_ITALIC;
+		} else if (isBold) {
+			return FontStyle.BOLD;
+		} else if (isItalic) {
+			return FontStyle.ITALIC;
+		}
+		return FontStyle.NORMAL;
+	}
+
+	/**
+	 * Returns the size in pixels of the given font data at the given zoom.
+	 */
+	synchronized int getPixelSize(FontData fontData, int zoom) {
+		int fontSize = DPIUtil.scaleUp(fontData.getHeight(), zoom);
+		if (pointsToPixels < 0) {
+			pointsToPixels = computePointsToPixels();
+		}
+		return (int) (fontSize * pointsToPixels);
+	}
+
+	private float computePointsToPixels() {
+		if (SWT.getPlatform().equals("win32")) { //$NON-NLS-1$
+			return DEFAULT_FONT_SIZE / SkijaDeviceDefaults.get(device).systemFont.getFontData()[0].getHeight();
+		}
+		if (SWT.getPlatform().equals("gtk")) { //$NON-NLS-1$
+			// SWT's font size is in points, 1pt = 1/72 inch, adjust skija font size to this
+			return SkijaDeviceDefaults.get(device).dpi.y / 72f;
+		}
+		return 1;
+	}
+
+	/**
+	 * Returns the Skia font for the given font data at the given zoom. The font is
+	 * owned by the cache and must not be closed.
+	 */
+	public Font getFont(FontData fontData, int zoom) {
+		java.util.List<Font> dropped = new ArrayList<>();
+		Font font;
+		synchronized (this) {
+			Typeface typeface = getTypeface(fontData);
+			FontKey key = new FontKey(typeface, getPixelSize(fontData, zoom), zoom);
+			font = fonts.get(key);
+			if (font != null) {
+				hits++;
+				return font;
+			}
+			misses++;
+			font = createFont(typeface, key.pixelSize());
+			fonts.put(key, font);
+			evict(dropped);
+		}
+		fontsDropped(dropped);
+		return font;
+	}
+
+	/**
+	 * Creates a new Skia font for the given font data at the given zoom, which
+	 * shares the typeface with the cached fonts. The caller has to close it.
+	 */
+	synchronized Font createFont(FontData fontData, int zoom) {
+		return createFont(getTypeface(fontData), getPixelSize(fontData, zoom));
+	}
+
+	private static Font createFont(Typeface typeface, int pixelSize) {
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.FONTS);
+		Font font = new Font(typeface, pixelSize);
+		font.setEdging(FontEdging.SUBPIXEL_ANTI_ALIAS);
+		font.setSubpixel(true);
+		return font;
+	}
+
+	private void evict(java.util.List<Font> dropped) {
+		Iterator<Font> iterator = fonts.values().iterator();
+		while (fonts.size() > maxFonts && fonts.size() > 1) {
+			dropped.add(iterator.next());
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Drops the data which other caches keep for the given fonts. It is called
+	 * without holding the lock of this cache, as the other caches look up fonts
+	 * while holding their own lock.
+	 */
+	private static void fontsDropped(java.util.List<Font> dropped) {
+		for (Font font : dropped) {
+			SkijaTextBlobCache.getDefault().removeAdvances(font);
+		}
+	}
+
+	/**
+	 * Drops all fonts and closes the typefaces. The fonts which were handed out
+	 * stay valid, they keep their typefaces alive.
+	 */
+	public void clear() {
+		java.util.List<Font> dropped;
+		synchronized (this) {
+			dropped = new ArrayList<>(fonts.values());
+			fonts.clear();
+			typefaces.values().forEach(Typeface::close);
+			typefaces.clear();
+			pointsToPixels = -1;
+		}
+		fontsDropped(dropped);
+	}
+
+	public synchronized int getMaxFonts() {
+		return maxFonts;
+	}
+
+	/**
+	 * Sets the maximum number of cached fonts.
+	 */
+	public void setMaxFonts(int maxFonts) {
+		java.util.List<Font> dropped = new ArrayList<>();
+		synchronized (this) {
+			this.maxFonts = maxFonts;
+			evict(dropped);
+		}
+		fontsDropped(dropped);
+	}
+
+	/**
+	 * Returns the number of native fonts held by the cache. Fonts created with
+	 * {@link #createFont(FontData, int)} belong to their callers and are not
+	 * counted.
+	 */
+	public synchronized int getFontCount() {
+		return fonts.size();
+	}
+
+	/**
+	 * Returns the number of native typefaces held by the cache.
+	 */
+	public synchronized int getTypefaceCount() {
+		return typefaces.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized void resetCounters() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+}
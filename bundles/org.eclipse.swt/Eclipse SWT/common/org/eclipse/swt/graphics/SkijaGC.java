@@ -16,6 +16,7 @@ package org.eclipse.swt.graphics;
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.function.*;
 
 import org.eclipse.swt.*;
@@ -25,11 +26,36 @@ import org.eclipse.swt.widgets.*;
 import io.github.humbleui.skija.*;
 import io.github.humbleui.skija.Canvas;
 import io.github.humbleui.skija.Font;
+import io.github.humbleui.skija.paragraph.Paragraph;
 import io.github.humbleui.types.*;
 
 public class SkijaGC extends GCHandle {
 
-	private static final Map<FontData, Font> FONT_CACHE = new ConcurrentHashMap<>();
+	/**
+	 * Rendered frames are handed to the native GC as raw pixels. Set the system
+	 * property <code>org.eclipse.swt.skija.disableDirectTransfer</code> to fall
+	 * back to the transfer via an encoded image, e.g. for comparisons.
+	 */
+	static final boolean DIRECT_TRANSFER = !Boolean.getBoolean("org.eclipse.swt.skija.disableDirectTransfer"); //$NON-NLS-1$
+
+	/**
+	 * A GC created for an image renders into a Skia raster surface without a
+	 * native GC, if the system property
+	 * <code>org.eclipse.swt.skija.offscreen</code> is set.
+	 */
+	public static final boolean OFFSCREEN = Boolean.getBoolean("org.eclipse.swt.skija.offscreen"); //$NON-NLS-1$
+
+	private static final LongAdder LAYERS = new LongAdder();
+
+	private static final int MAX_DASH_EFFECTS = 64;
+	private static final Map<DashKey, PathEffect> DASH_EFFECTS = new ConcurrentHashMap<>();
+
+	private static final int FILL_PAINT = 1 << 0;
+	private static final int STROKE_PAINT = 1 << 1;
+	private static final int TEXT_PAINT = 1 << 2;
+	private static final int POINT_PAINT = 1 << 3;
+	private static final int FOREGROUND_PAINTS = STROKE_PAINT | TEXT_PAINT | POINT_PAINT;
+	private static final int ALL_PAINTS = FILL_PAINT | FOREGROUND_PAINTS;
 
 	static final float[] LINE_DOT_PATTERN = new float[]{3, 3};
 	static final float[] LINE_DASH_PATTERN = new float[]{18, 6};
@@ -37,20 +63,82 @@ public class SkijaGC extends GCHandle {
 	static final float[] LINE_DASHDOTDOT_PATTERN = new float[]{9, 3, 3, 3, 3, 3};
 
 	public static SkijaGC createDefaultInstance(NativeGC gc) {
-		return new SkijaGC(gc, gc.drawable, false);
+		return new SkijaGC(gc, gc.drawable, false, null, null);
 	}
 
 	public static SkijaGC createDefaultInstance(NativeGC gc, Control control) {
-		return new SkijaGC(gc, control, false);
+		return new SkijaGC(gc, control, false, null, null);
+	}
+
+	/**
+	 * Creates an instance that renders into the given backing surface of the
+	 * control instead of allocating a new raster for each paint.
+	 */
+	public static SkijaGC createDefaultInstance(NativeGC gc, Control control, SkijaBackingSurface backingSurface) {
+		return new SkijaGC(gc, control, false, backingSurface, null);
+	}
+
+	/**
+	 * Creates an instance that only renders and commits the given damaged area of
+	 * the control, in points. The backing surface may be <code>null</code>.
+	 */
+	public static SkijaGC createDefaultInstance(NativeGC gc, Control control, SkijaBackingSurface backingSurface,
+			Rectangle damage) {
+		return new SkijaGC(gc, control, false, backingSurface, damage);
 	}
 
 	public static SkijaGC createMeasureInstance(NativeGC gc, Control control) {
-		return new SkijaGC(gc, control, true);
+		return new SkijaGC(gc, control, true, null, null);
+	}
+
+	/**
+	 * Creates an instance that renders into a raster surface holding the pixels
+	 * of the given image, without a native GC. The rendering is transferred into
+	 * the image when the instance is disposed, which is the only time a native GC
+	 * is created for the image.
+	 */
+	public static SkijaGC createImageInstance(Image image) {
+		return createImageInstance(image, SWT.NONE);
+	}
+
+	/**
+	 * Creates an instance that renders into the given image like
+	 * {@link #createImageInstance(Image)}, with the given
+	 * {@link SWT#LEFT_TO_RIGHT} or {@link SWT#RIGHT_TO_LEFT} style. Like a native
+	 * GC, it is only supported for bitmaps without another GC drawing into them,
+	 * and it is registered as the GC of the image until it is disposed.
+	 */
+	public static SkijaGC createImageInstance(Image image, int style) {
+		if (image == null) {
+			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		}
+		if (image.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		if (image.type != SWT.BITMAP || image.memGC != null) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		SkijaGC gc = new SkijaGC(image, style);
+		image.memGC = gc;
+		return gc;
 	}
 
 	private final Surface surface;
+	private final SkijaBackingSurface backingSurface;
+	/** The area in points that is committed. */
+	private final Rectangle damage;
+	/**
+	 * The area in points that is cleared and drawn, which is the damage except
+	 * for the part that still shows a scrolled rendering.
+	 */
+	private Rectangle renderArea;
+	private boolean disposed;
 
+	// null for an instance rendering into an image
 	private NativeGC innerGC;
+	/** The image an offscreen instance renders into. */
+	private Image image;
+	private int style = SWT.LEFT_TO_RIGHT;
 
 	private Color background;
 	private Color foreground;
@@ -67,10 +155,19 @@ public class SkijaGC extends GCHandle {
 	private int fillRule = SWT.FILL_EVEN_ODD;
 	private int antialias;
 	private int alpha = 255;
+	// whether a layer applies the alpha to a group of draws instead of the paints
 	private boolean hasAlphaLayer = false;
+	private int layerCount;
 	private Pattern foregroundPattern;
 	private Pattern backgroundPattern;
 
+	// paints are configured on first use after a change of the GC state
+	private Paint fillPaint;
+	private Paint strokePaint;
+	private Paint textPaint;
+	private Paint pointPaint;
+	private int dirtyPaints = ALL_PAINTS;
+
 	private final Point originalDrawingSize;
 
 	private static Map<ColorType, int[]> colorTypeMap = null;
@@ -78,23 +175,216 @@ public class SkijaGC extends GCHandle {
 
 	private SamplingMode interpolationMode=SamplingMode.DEFAULT;
 
+	// the clip set by setClipping is one of a rectangle and a region in points or a
+	// path in pixels, applied with the transformation set at that time
+	private Rectangle clipRect;
+	private Rectangle[] clipRegion;
+	private io.github.humbleui.skija.Path clipPath;
+	private Matrix33 clipTransform = Matrix33.IDENTITY;
 	private boolean isClipSet;
 	private Rectangle currentClipBounds;
+	// the save count of the canvas with the base transformation and clip applied
+	private int baseSaveCount;
+
+	// records the drawing operations into a picture instead of the surface
+	private PictureRecorder pictureRecorder;
+
+	private final Matrix33 baseTransform;
 
-	private SkijaGC(NativeGC gc, Drawable drawable, boolean onlyForMeasuring) {
+	private SkijaGC(NativeGC gc, Drawable drawable, boolean onlyForMeasuring, SkijaBackingSurface backingSurface,
+			Rectangle damage) {
 		innerGC = gc;
 		device = gc.device;
+		this.backingSurface = backingSurface;
 		originalDrawingSize = extractSize(drawable);
-		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		Rectangle fullArea = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		this.damage = damage != null ? fullArea.intersection(damage) : fullArea;
+		renderArea = this.damage;
+		currentClipBounds = fullArea;
+		baseTransform = Matrix33.IDENTITY;
 		if (onlyForMeasuring) {
 			surface = createMeasureSurface();
 		} else {
 			surface = createDrawingSurface();
 			initializeWithParentBackground();
+			if (isPartialRender()) {
+				// base clip below the one managed by setClipping, removed on dispose
+				surface.getCanvas().save();
+				surface.getCanvas().clipRect(createScaledRectangle(renderArea));
+			}
 		}
+		baseSaveCount = surface.getCanvas().getSaveCount();
 		initFont();
 	}
 
+	private SkijaGC(Image image, int style) {
+		this.image = image;
+		if ((style & SWT.LEFT_TO_RIGHT) != 0) {
+			this.style = SWT.LEFT_TO_RIGHT;
+		} else if ((style & SWT.RIGHT_TO_LEFT) != 0) {
+			this.style = SWT.RIGHT_TO_LEFT | SWT.MIRRORED;
+		}
+		device = image.getDevice();
+		backingSurface = null;
+		originalDrawingSize = extractSize(image);
+		damage = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		renderArea = damage;
+		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		surface = createDrawingSurface();
+		if (!isEmpty(originalDrawingSize)) {
+			// start with the current content, the conversion is shared with the draws of the image
+			surface.getCanvas().drawImage(getCachedSkijaImage(image), 0, 0);
+		}
+		if ((this.style & SWT.MIRRORED) != 0) {
+			// like a native GC, a right to left instance draws mirrored
+			baseTransform = new Matrix33(-1, 0, surface.getWidth(), 0, 1, 0, 0, 0, 1);
+			surface.getCanvas().save();
+			surface.getCanvas().setMatrix(baseTransform);
+		} else {
+			baseTransform = Matrix33.IDENTITY;
+		}
+		baseSaveCount = surface.getCanvas().getSaveCount();
+		initFont();
+	}
+
+	/**
+	 * Returns the canvas the drawing operations go to, which is the canvas of
+	 * the picture while drawing operations are recorded.
+	 */
+	private Canvas getCanvas() {
+		return pictureRecorder != null ? pictureRecorder.getRecordingCanvas() : surface.getCanvas();
+	}
+
+	/**
+	 * Returns whether the drawing operations can be recorded into a picture
+	 * now. A picture must contain the whole control, so nothing may have been
+	 * clipped away or transformed yet.
+	 */
+	boolean canRecord() {
+		Rectangle fullArea = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		return !isPartialRender() && pictureRecorder == null && alpha == 255
+				&& Matrix33.IDENTITY.equals(currentTransform) && currentClipBounds.intersection(fullArea).equals(fullArea);
+	}
+
+	/**
+	 * Starts recording the subsequent drawing operations into a picture instead
+	 * of drawing them.
+	 */
+	void beginRecording() {
+		surface.getCanvas().restoreToCount(baseSaveCount);
+		isClipSet = false;
+		releaseClip();
+		Point sizeInPixels = DPIUtil.autoScaleUp(originalDrawingSize);
+		pictureRecorder = new PictureRecorder();
+		pictureRecorder.beginRecording(Rect.makeWH(sizeInPixels.x, sizeInPixels.y));
+	}
+
+	/**
+	 * Stops recording and returns the recorded picture, which has to be closed by
+	 * the caller. Clipping, transformation and alpha set while recording are
+	 * part of the picture and no longer apply to this GC.
+	 */
+	Picture endRecording() {
+		Picture picture = pictureRecorder.finishRecordingAsPicture();
+		pictureRecorder.close();
+		pictureRecorder = null;
+		isClipSet = false;
+		alpha = 255;
+		currentTransform = Matrix33.IDENTITY;
+		releaseClip();
+		invalidatePaints(ALL_PAINTS);
+		return picture;
+	}
+
+	/**
+	 * Draws the given picture onto the surface, e.g. to replay a previous paint.
+	 */
+	void drawPicture(Picture picture) {
+		if (alpha == 255 || hasAlphaLayer) {
+			// the tiles start with the pixels of the surface, not with the ones of a layer
+			if (!SkijaTiledRasterizer.isEnabled() || pictureRecorder != null || hasAlphaLayer
+					|| !SkijaTiledRasterizer.draw(surface, picture, getVisibleArea(picture))) {
+				getCanvas().drawPicture(picture);
+			}
+			return;
+		}
+		// the draws of the picture overlap, Skia composites them in a layer bounded
+		// by the picture
+		countLayer();
+		performDraw(paint -> getCanvas().drawPicture(picture, null, paint));
+	}
+
+	/**
+	 * Paints the given paragraph, which is laid out in pixels, with its top left
+	 * corner at the given point. The painter paints it at the origin of the
+	 * canvas, which is translated to the point.
+	 */
+	void drawParagraph(Paragraph paragraph, int x, int y, Consumer<Canvas> painter) {
+		float left = DPIUtil.autoScaleUp(x);
+		float top = DPIUtil.autoScaleUp(y);
+		// the text, the backgrounds of its styles and the selection overlap
+		performDrawGroup(Rect.makeXYWH(left, top, (float) Math.ceil(paragraph.getLongestLine()),
+				(float) Math.ceil(paragraph.getHeight())), () -> {
+					Canvas canvas = getCanvas();
+					canvas.save();
+					canvas.translate(left, top);
+					painter.accept(canvas);
+					canvas.restore();
+				});
+	}
+
+	/**
+	 * Returns the part of the given picture in pixels which is not clipped away,
+	 * or <code>null</code> if nothing is visible.
+	 */
+	/**
+	 * Returns the area of the surface in pixels the given picture may draw into
+	 * with the current matrix, or <code>null</code> if it draws nothing visible.
+	 */
+	private IRect getVisibleArea(Picture picture) {
+		Matrix33 matrix = getCanvas().getLocalToDeviceAsMatrix33();
+		float[] m = matrix.getMat();
+		Rect cull = picture.getCullRect();
+		float[] xs = { cull.getLeft(), cull.getRight() };
+		float[] ys = { cull.getTop(), cull.getBottom() };
+		float left = Float.MAX_VALUE, top = Float.MAX_VALUE, right = -Float.MAX_VALUE, bottom = -Float.MAX_VALUE;
+		for (float x : xs) {
+			for (float y : ys) {
+				float deviceX = m[0] * x + m[1] * y + m[2];
+				float deviceY = m[3] * x + m[4] * y + m[5];
+				left = Math.min(left, deviceX);
+				top = Math.min(top, deviceY);
+				right = Math.max(right, deviceX);
+				bottom = Math.max(bottom, deviceY);
+			}
+		}
+		// anti-aliased edges may touch the pixels around the bounds
+		IRect area = IRect.makeLTRB((int) Math.floor(left) - 1, (int) Math.floor(top) - 1,
+				(int) Math.ceil(right) + 1, (int) Math.ceil(bottom) + 1)
+				.intersect(IRect.makeWH(surface.getWidth(), surface.getHeight()));
+		if (area == null || !Matrix33.IDENTITY.equals(matrix)) {
+			return area;
+		}
+		Rectangle visible = DPIUtil.autoScaleUp(renderArea.intersection(currentClipBounds));
+		if (visible.isEmpty()) {
+			return null;
+		}
+		return area.intersect(IRect.makeXYWH(visible.x, visible.y, visible.width, visible.height));
+	}
+
+	private boolean isPartialDamage() {
+		return isPartial(damage);
+	}
+
+	private boolean isPartialRender() {
+		return isPartial(renderArea);
+	}
+
+	private boolean isPartial(Rectangle area) {
+		return area.x != 0 || area.y != 0 || area.width != originalDrawingSize.x
+				|| area.height != originalDrawingSize.y;
+	}
+
 	private static Point extractSize(Drawable drawable) {
 		Point size = new Point(0, 0);
 		if (drawable instanceof Image image) {
@@ -127,6 +417,26 @@ public class SkijaGC extends GCHandle {
 		if (isEmpty(originalDrawingSize)) {
 			drawingSizeInPixels = new Point(1, 1);
 		}
+		if (backingSurface != null) {
+			Surface reused = backingSurface.acquire(drawingSizeInPixels.x, drawingSizeInPixels.y,
+					DPIUtil.getDeviceZoom());
+			Rectangle outdated = backingSurface.takeRenderArea();
+			if (outdated != null) {
+				// the rest of the damage shows the rendering shifted by a scroll
+				renderArea = damage.intersection(outdated);
+			}
+			Canvas canvas = reused.getCanvas();
+			if (isPartialRender()) {
+				canvas.save();
+				canvas.clipRect(createScaledRectangle(renderArea));
+				canvas.clear(0x00000000);
+				canvas.restore();
+			} else {
+				canvas.clear(0x00000000);
+				backingSurface.markRendered();
+			}
+			return reused;
+		}
 		return createSurface(drawingSizeInPixels.x, drawingSizeInPixels.y);
 	}
 
@@ -135,33 +445,80 @@ public class SkijaGC extends GCHandle {
 	}
 
 	private Surface createSurface(int width, int height) {
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.SURFACES);
 		return Surface.makeRaster(ImageInfo.makeN32Premul(width, height), 0, new SurfaceProps(PixelGeometry.RGB_H));
 	}
 
 	private void initializeWithParentBackground() {
-		if (originalDrawingSize.x > 0 && originalDrawingSize.y > 0) {
-			Image image = new Image(innerGC.device, originalDrawingSize.x, originalDrawingSize.y);
-			innerGC.copyArea(image, 0, 0);
-			drawImage(image, 0, 0);
+		if (renderArea.isEmpty()) {
+			return;
+		}
+		if (isPartialRender() && (backingSurface == null || backingSurface.getBackground() == null)) {
+			// outside of the damage the native GC still shows the previous rendering,
+			// so only the damaged area can be taken as background
+			Image image = new Image(innerGC.device, renderArea.width, renderArea.height);
+			innerGC.copyArea(image, renderArea.x, renderArea.y);
+			io.github.humbleui.skija.Image background = convertSWTImageToSkijaImage(image);
 			image.dispose();
+			surface.getCanvas().drawImage(background, DPIUtil.autoScaleUp(renderArea.x),
+					DPIUtil.autoScaleUp(renderArea.y));
+			background.close();
+			return;
+		}
+		if (originalDrawingSize.x > 0 && originalDrawingSize.y > 0) {
+			io.github.humbleui.skija.Image background = backingSurface != null ? backingSurface.getBackground() : null;
+			if (background == null) {
+				Image image = new Image(innerGC.device, originalDrawingSize.x, originalDrawingSize.y);
+				innerGC.copyArea(image, 0, 0);
+				background = convertSWTImageToSkijaImage(image);
+				image.dispose();
+				if (backingSurface != null) {
+					backingSurface.setBackground(background);
+				}
+			}
+			Canvas canvas = surface.getCanvas();
+			if (isPartialRender()) {
+				// keep the rendering outside of the area, it may be shifted by a scroll
+				canvas.save();
+				canvas.clipRect(createScaledRectangle(renderArea));
+			}
+			canvas.drawImage(background, 0, 0);
+			if (isPartialRender()) {
+				canvas.restore();
+			}
+			if (backingSurface == null) {
+				background.close();
+			}
 		}
 	}
 
 	private void initFont() {
-		org.eclipse.swt.graphics.Font originalFont = innerGC.getFont();
+		org.eclipse.swt.graphics.Font originalFont = innerGC != null ? innerGC.getFont() : null;
 		if (originalFont == null || originalFont.isDisposed()) {
-			originalFont = innerGC.getDevice().getSystemFont();
+			originalFont = device.getSystemFont();
 		}
 		setFont(originalFont);
 	}
 
 	@Override
 	public void dispose() {
-		if (hasAlphaLayer) {
-			surface.getCanvas().restore();
-			hasAlphaLayer = false;
+		if (image != null) {
+			// the transfer draws with a native GC, which the image only accepts without a GC
+			image.memGC = null;
+			transferToImage();
+			image = null;
+		}
+		if (backingSurface != null) {
+			// leave the reused surface in its initial state for the next paint
+			Canvas canvas = surface.getCanvas();
+			canvas.restoreToCount(1);
+			canvas.resetMatrix();
+		} else {
+			surface.close();
 		}
-		surface.close();
+		releaseClip();
+		closePaints();
+		disposed = true;
 		innerGC = null;
 		skiaFont = null;
 		swtFont = null;
@@ -172,60 +529,261 @@ public class SkijaGC extends GCHandle {
 		return background;
 	}
 
+	/**
+	 * Runs the given operations with a temporary paint, for paints that depend on
+	 * the arguments of the drawing operation.
+	 */
 	private void performDraw(Consumer<Paint> operations) {
 		Paint paint = new Paint();
-		if (!hasAlphaLayer) {
-			paint.setAlphaf(alpha / 255.0f);
-		}
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		applyAlpha(paint);
 		operations.accept(paint);
 		paint.close();
 	}
 
+	/**
+	 * Runs the given operations with a paint that applies the alpha, or without a
+	 * paint if nothing has to be applied, e.g. to draw images.
+	 */
+	private void performDrawImage(Consumer<Paint> operations) {
+		if (alpha == 255 || hasAlphaLayer) {
+			operations.accept(null);
+			return;
+		}
+		performDraw(operations);
+	}
+
+	/**
+	 * Applies the alpha to the configured paint, unless a layer applies it to a
+	 * group of draws. It has to be applied after the color, which sets the alpha
+	 * of the paint as well.
+	 */
+	private void applyAlpha(Paint paint) {
+		if (alpha < 255 && !hasAlphaLayer) {
+			paint.setAlphaf(paint.getAlphaf() * alpha / 255.0f);
+		}
+	}
+
+	/**
+	 * Runs draws which overlap each other, like a text and its background. If the
+	 * alpha is below 255, they are composited in a layer bounded by the given area
+	 * in pixels, so the alpha applies to the group and not to each draw.
+	 */
+	private void performDrawGroup(Rect bounds, Runnable draws) {
+		if (alpha == 255 || hasAlphaLayer) {
+			draws.run();
+			return;
+		}
+		Canvas canvas = getCanvas();
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		try (Paint layerPaint = new Paint()) {
+			layerPaint.setAlphaf(alpha / 255.0f);
+			canvas.saveLayer(bounds, layerPaint);
+		}
+		countLayer();
+		hasAlphaLayer = true;
+		invalidatePaints(ALL_PAINTS);
+		try {
+			draws.run();
+		} finally {
+			canvas.restore();
+			hasAlphaLayer = false;
+			invalidatePaints(ALL_PAINTS);
+		}
+	}
+
+	private void countLayer() {
+		layerCount++;
+		LAYERS.increment();
+	}
+
+	/**
+	 * Returns the number of offscreen layers created by this GC, which is the
+	 * number of layers of one frame for the GC of a paint.
+	 */
+	public int getLayerCount() {
+		return layerCount;
+	}
+
+	/**
+	 * Returns the number of offscreen layers created by all Skija GCs.
+	 */
+	public static long getTotalLayerCount() {
+		return LAYERS.sum();
+	}
+
+	public static void resetCounters() {
+		LAYERS.reset();
+	}
+
+	/**
+	 * Marks the given cached paints to be configured again before their next use.
+	 */
+	private void invalidatePaints(int paints) {
+		dirtyPaints |= paints;
+	}
+
+	private Paint getStrokePaint() {
+		if (strokePaint == null) {
+			strokePaint = new Paint();
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		} else if ((dirtyPaints & STROKE_PAINT) == 0 && !isPatternDisposed(foregroundPattern)) {
+			return strokePaint;
+		}
+		Paint paint = strokePaint.reset();
+		applyForegroundPattern(paint);
+		paint.setMode(PaintMode.STROKE);
+		paint.setStrokeWidth(lineWidth > 0 ? DPIUtil.autoScaleUp(lineWidth) : 1);
+		paint.setAntiAlias(true);
+
+		// Apply line cap setting
+		PaintStrokeCap skijaLineCap;
+		switch (lineCap) {
+			case SWT.CAP_ROUND:
+				skijaLineCap = PaintStrokeCap.ROUND;
+				break;
+			case SWT.CAP_SQUARE:
+				skijaLineCap = PaintStrokeCap.SQUARE;
+				break;
+			case SWT.CAP_FLAT:
+			default:
+				skijaLineCap = PaintStrokeCap.BUTT;
+				break;
+		}
+		paint.setStrokeCap(skijaLineCap);
+
+		// Apply line join setting
+		PaintStrokeJoin skijaLineJoin;
+		switch (lineJoin) {
+			case SWT.JOIN_MITER:
+				skijaLineJoin = PaintStrokeJoin.MITER;
+				break;
+			case SWT.JOIN_ROUND:
+				skijaLineJoin = PaintStrokeJoin.ROUND;
+				break;
+			case SWT.JOIN_BEVEL:
+			default:
+				skijaLineJoin = PaintStrokeJoin.BEVEL;
+				break;
+		}
+		paint.setStrokeJoin(skijaLineJoin);
+		// Apply line dash pattern based on line style
+		paint.setPathEffect(getPathEffectForLineStyle());
+		applyAlpha(paint);
+		dirtyPaints &= ~STROKE_PAINT;
+		return paint;
+	}
+
+	private Paint getFillPaint() {
+		if (fillPaint == null) {
+			fillPaint = new Paint();
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		} else if ((dirtyPaints & FILL_PAINT) == 0 && !isPatternDisposed(backgroundPattern)) {
+			return fillPaint;
+		}
+		Paint paint = fillPaint.reset();
+		applyBackgroundPattern(paint);
+		paint.setMode(PaintMode.FILL);
+		paint.setAntiAlias(true);
+		applyAlpha(paint);
+		dirtyPaints &= ~FILL_PAINT;
+		return paint;
+	}
+
+	private Paint getTextPaint() {
+		if (textPaint == null) {
+			textPaint = new Paint();
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		} else if ((dirtyPaints & TEXT_PAINT) == 0 && !isPatternDisposed(foregroundPattern)) {
+			return textPaint;
+		}
+		Paint paint = textPaint.reset();
+		applyForegroundPattern(paint);
+		applyAlpha(paint);
+		dirtyPaints &= ~TEXT_PAINT;
+		return paint;
+	}
+
+	private Paint getPointPaint() {
+		if (pointPaint == null) {
+			pointPaint = new Paint();
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+		} else if ((dirtyPaints & POINT_PAINT) == 0) {
+			return pointPaint;
+		}
+		Paint paint = pointPaint.reset();
+		paint.setColor(convertSWTColorToSkijaColor(getForeground()));
+		paint.setMode(PaintMode.FILL);
+		paint.setAntiAlias(false);
+		applyAlpha(paint);
+		dirtyPaints &= ~POINT_PAINT;
+		return paint;
+	}
+
+	/**
+	 * A pattern that got disposed while being set falls back to the color, so the
+	 * paint has to be configured again.
+	 */
+	private static boolean isPatternDisposed(Pattern pattern) {
+		return pattern != null && pattern.isDisposed();
+	}
+
+	private void closePaints() {
+		for (Paint paint : new Paint[] { fillPaint, strokePaint, textPaint, pointPaint }) {
+			if (paint != null) {
+				paint.close();
+			}
+		}
+		fillPaint = strokePaint = textPaint = pointPaint = null;
+		dirtyPaints = ALL_PAINTS;
+	}
+
 	private void performDrawLine(Consumer<Paint> operations) {
-		performDraw(paint -> {
-			applyForegroundPattern(paint);
-			paint.setMode(PaintMode.STROKE);
-			paint.setStrokeWidth(lineWidth > 0 ? DPIUtil.autoScaleUp(lineWidth) : 1);
-			paint.setAntiAlias(true);
-
-			// Apply line cap setting
-			PaintStrokeCap skijaLineCap;
-			switch (lineCap) {
-				case SWT.CAP_ROUND:
-					skijaLineCap = PaintStrokeCap.ROUND;
-					break;
-				case SWT.CAP_SQUARE:
-					skijaLineCap = PaintStrokeCap.SQUARE;
-					break;
-				case SWT.CAP_FLAT:
-				default:
-					skijaLineCap = PaintStrokeCap.BUTT;
-					break;
+		operations.accept(getStrokePaint());
+	}
+
+	private record DashKey(int style, float width, float offset, float[] dashes) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof DashKey other && other.style == style && other.width == width
+					&& other.offset == offset && Arrays.equals(other.dashes, dashes);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(style, width, offset, Arrays.hashCode(dashes));
+		}
+	}
+
+	/**
+	 * Returns the shared dash effect for the current line style, width and dash
+	 * offset, or null for solid lines. The effects are immutable and kept for the
+	 * lifetime of the application, up to a small number of combinations.
+	 */
+	private PathEffect getPathEffectForLineStyle() {
+		if (lineStyle == SWT.LINE_SOLID) {
+			return null;
+		}
+		float effectiveLineWidth = lineWidth > 0 ? DPIUtil.autoScaleUp(lineWidth) : 1;
+		DashKey key = new DashKey(lineStyle, effectiveLineWidth, DPIUtil.autoScaleUp(dashOffset),
+				lineStyle == SWT.LINE_CUSTOM ? lineDashes : null);
+		PathEffect pathEffect = DASH_EFFECTS.get(key);
+		if (pathEffect == null) {
+			pathEffect = createPathEffectForLineStyle();
+			if (pathEffect == null) {
+				return null;
 			}
-			paint.setStrokeCap(skijaLineCap);
-
-			// Apply line join setting
-			PaintStrokeJoin skijaLineJoin;
-			switch (lineJoin) {
-				case SWT.JOIN_MITER:
-					skijaLineJoin = PaintStrokeJoin.MITER;
-					break;
-				case SWT.JOIN_ROUND:
-					skijaLineJoin = PaintStrokeJoin.ROUND;
-					break;
-				case SWT.JOIN_BEVEL:
-				default:
-					skijaLineJoin = PaintStrokeJoin.BEVEL;
-					break;
+			if (DASH_EFFECTS.size() >= MAX_DASH_EFFECTS) {
+				// unusual amount of custom dashes, keep the memory bounded
+				DASH_EFFECTS.clear();
 			}
-			paint.setStrokeJoin(skijaLineJoin);
-			// Apply line dash pattern based on line style
-			PathEffect pathEffect = createPathEffectForLineStyle();
-			if (pathEffect != null) {
-				paint.setPathEffect(pathEffect);
+			PathEffect existing = DASH_EFFECTS.putIfAbsent(key, pathEffect);
+			if (existing != null) {
+				pathEffect.close();
+				pathEffect = existing;
 			}
-			operations.accept(paint);
-		});
+		}
+		return pathEffect;
 	}
 
 	/**
@@ -311,19 +869,11 @@ public class SkijaGC extends GCHandle {
 	}
 
 	private void performDrawText(Consumer<Paint> operations) {
-		performDraw(paint -> {
-			applyForegroundPattern(paint);
-			operations.accept(paint);
-		});
+		operations.accept(getTextPaint());
 	}
 
 	private void performDrawFilled(Consumer<Paint> operations) {
-		performDraw(paint -> {
-			applyBackgroundPattern(paint);
-			paint.setMode(PaintMode.FILL);
-			paint.setAntiAlias(true);
-			operations.accept(paint);
-		});
+		operations.accept(getFillPaint());
 	}
 
 	private void applyBackgroundPattern(Paint paint) {
@@ -339,12 +889,7 @@ public class SkijaGC extends GCHandle {
 	}
 
 	private void performDrawPoint(Consumer<Paint> operations) {
-		performDraw(paint -> {
-			paint.setColor(convertSWTColorToSkijaColor(getForeground()));
-			paint.setMode(PaintMode.FILL);
-			paint.setAntiAlias(false);
-			operations.accept(paint);
-		});
+		operations.accept(getPointPaint());
 	}
 
 	private String[] splitString(String text) {
@@ -368,25 +913,101 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void commit() {
-		if (hasAlphaLayer) {
-			surface.getCanvas().restore();
-			hasAlphaLayer = false;
+		// an offscreen instance is transferred into its image on dispose
+		if (innerGC == null || isEmpty(originalDrawingSize) || damage.isEmpty()) {
+			return;
 		}
-
-		if (isEmpty(originalDrawingSize)) {
+		Rectangle damageInPixels = getDamageInPixels();
+		if (DIRECT_TRANSFER && transferPixels(innerGC, surface, damageInPixels.x, damageInPixels.y,
+				damageInPixels.width, damageInPixels.height, damage.x, damage.y, damage.width, damage.height)) {
 			return;
 		}
 		io.github.humbleui.skija.Image im = surface.makeImageSnapshot();
 		byte[] imageBytes = EncoderPNG.encode(im).getBytes();
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.TRANSFERRED_BYTES, imageBytes.length);
 
 		Image transferImage = new Image(innerGC.getDevice(), new ByteArrayInputStream(imageBytes));
 
-		Point drawingSizeInPixels = DPIUtil.autoScaleUp(originalDrawingSize);
-		innerGC.drawImage(transferImage, 0, 0, drawingSizeInPixels.x, drawingSizeInPixels.y, //
-				0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		innerGC.drawImage(transferImage, damageInPixels.x, damageInPixels.y, damageInPixels.width,
+				damageInPixels.height, damage.x, damage.y, damage.width, damage.height);
 		transferImage.dispose();
 	}
 
+	private Rectangle getDamageInPixels() {
+		if (!isPartialDamage()) {
+			Point drawingSizeInPixels = DPIUtil.autoScaleUp(originalDrawingSize);
+			return new Rectangle(0, 0, drawingSizeInPixels.x, drawingSizeInPixels.y);
+		}
+		Rectangle damageInPixels = DPIUtil.autoScaleUp(damage);
+		return damageInPixels.intersection(new Rectangle(0, 0, surface.getWidth(), surface.getHeight()));
+	}
+
+	/**
+	 * Hands the raster pixels of the given area directly to the native GC. Skia's
+	 * N32 premultiplied layout is BGRA on all supported platforms, which is what
+	 * cairo and GDI expect, so no conversion is necessary.
+	 *
+	 * @return <code>false</code> if the native GC cannot take over the pixels
+	 */
+	static boolean transferPixels(NativeGC target, Surface source, int srcX, int srcY, int srcWidth,
+			int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+		if (source.getImageInfo().getColorType() != ColorType.BGRA_8888) {
+			return false;
+		}
+		try (Pixmap pixmap = new Pixmap()) {
+			if (!source.peekPixels(pixmap)) {
+				return false;
+			}
+			if (!target.drawPixels(pixmap.getAddr(), pixmap.getRowBytes(), srcX, srcY, srcWidth, srcHeight, destX,
+					destY, destWidth, destHeight)) {
+				return false;
+			}
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.TRANSFERRED_BYTES, (long) srcWidth * srcHeight * 4);
+			return true;
+		}
+	}
+
+	/**
+	 * Transfers the given area of the given surface, in pixels, into the given
+	 * area of the given image, in points. The pixels are handed over directly if
+	 * possible, otherwise they are converted into an intermediate image.
+	 */
+	private void transferToImage(Surface source, Rectangle area, Image target, Rectangle dest) {
+		NativeGC gc = new NativeGC(target);
+		try {
+			if (DIRECT_TRANSFER && transferPixels(gc, source, area.x, area.y, area.width, area.height, dest.x, dest.y,
+					dest.width, dest.height)) {
+				return;
+			}
+			io.github.humbleui.skija.Image snapshot = source.makeImageSnapshot(
+					IRect.makeXYWH(area.x, area.y, area.width, area.height));
+			if (snapshot == null) {
+				return;
+			}
+			Image transferImage = new Image(device, convertToSkijaImageData(snapshot));
+			snapshot.close();
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.TRANSFERRED_BYTES, (long) area.width * area.height * 4);
+			gc.drawImage(transferImage, 0, 0, area.width, area.height, dest.x, dest.y, dest.width, dest.height);
+			transferImage.dispose();
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	/**
+	 * Transfers the rendering of an offscreen instance into its image. The
+	 * rendering then serves as the converted image for subsequent draws of the
+	 * image, so it is not read back from the native image.
+	 */
+	private void transferToImage() {
+		if (image.isDisposed() || isEmpty(originalDrawingSize)) {
+			return;
+		}
+		transferToImage(surface, new Rectangle(0, 0, surface.getWidth(), surface.getHeight()), image,
+				new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y));
+		SkijaImageCache.getCache(device).put(image, DPIUtil.getDeviceZoom(), surface.makeImageSnapshot());
+	}
+
 	@Override
 	public Point textExtent(String string) {
 		return textExtent(string, SWT.NONE);
@@ -395,12 +1016,18 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void setBackground(Color color) {
 		if (color == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		if (!color.equals(this.background)) {
+			invalidatePaints(FILL_PAINT);
+		}
 		this.background = color;
 	}
 
 	@Override
 	public void setForeground(Color color) {
 		if (color == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		if (!color.equals(this.foreground)) {
+			invalidatePaints(FOREGROUND_PAINTS);
+		}
 		this.foreground = color;
 	}
 
@@ -411,8 +1038,9 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void drawImage(Image image, int x, int y) {
-		Canvas canvas = surface.getCanvas();
-		canvas.drawImage(convertSWTImageToSkijaImage(image), DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y));
+		io.github.humbleui.skija.Image skijaImage = getCachedSkijaImage(image);
+		performDrawImage(
+				paint -> getCanvas().drawImage(skijaImage, DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y), paint));
 	}
 
 	@Override
@@ -422,82 +1050,18 @@ public class SkijaGC extends GCHandle {
 			System.out.println("SkijaGC.drawImage(..): Error draw image that is null!!");
 			return;
 		}
-		Canvas canvas = surface.getCanvas();
-		canvas.drawImageRect(convertSWTImageToSkijaImage(image),
+		io.github.humbleui.skija.Image skijaImage = getCachedSkijaImage(image);
+		performDrawImage(paint -> getCanvas().drawImageRect(skijaImage,
 				createScaledRectangle(srcX, srcY, srcWidth, srcHeight),
-				createScaledRectangle(destX, destY, destWidth, destHeight),interpolationMode,null,true);
+				createScaledRectangle(destX, destY, destWidth, destHeight), interpolationMode, paint, true));
 	}
 
-	private static ColorType getColorType(ImageData imageData) {
-		PaletteData palette = imageData.palette;
-
-		if (imageData.getTransparencyType() == SWT.TRANSPARENCY_MASK) {
-			return ColorType.UNKNOWN;
-		}
-
-		if (palette.isDirect) {
-			int redMask = palette.redMask;
-			int greenMask = palette.greenMask;
-			int blueMask = palette.blueMask;
-
-			if (redMask == 0xFF0000 && greenMask == 0x00FF00 && blueMask == 0x0000FF) {
-				return ColorType.UNKNOWN;
-			}
-
-			if (redMask == 0xFF000000 && greenMask == 0x00FF0000
-					&& blueMask == 0x0000FF00) {
-				return ColorType.RGBA_8888;
-			}
-
-			if (redMask == 0xF800 && greenMask == 0x07E0 && blueMask == 0x001F) {
-				return ColorType.RGB_565;
-			}
-
-			if (redMask == 0xF000 && greenMask == 0x0F00 && blueMask == 0x00F0) {
-				return ColorType.ARGB_4444;
-			}
-
-			if (redMask == 0x0000FF00 && greenMask == 0x00FF0000 && blueMask == 0xFF000000) {
-				return ColorType.BGRA_8888;
-			}
-
-			if (redMask == 0x3FF00000 && greenMask == 0x000FFC00 && blueMask == 0x000003FF) {
-				return ColorType.RGBA_1010102;
-			}
-
-			if (redMask == 0x000003FF && greenMask == 0x000FFC00 && blueMask == 0x3FF00000) {
-				return ColorType.BGRA_1010102;
-			}
-
-			if (redMask == 0xFF && greenMask == 0xFF00 && blueMask == 0xFF0000) {
-				return ColorType.UNKNOWN;
-			}
-		} else {
-			if (imageData.depth == 8 && palette.colors != null && palette.colors.length <= 256) {
-				return ColorType.ALPHA_8;
-			}
-
-			if (imageData.depth == 16) {
-				// 16-bit indexed images are not directly mappable to common
-				// ColorTypes
-				return ColorType.ARGB_4444; // Assume for indexed color images
-			}
-
-			if (imageData.depth == 24) {
-				// Assuming RGB with no alpha channel
-				return ColorType.RGB_888X;
-			}
-
-			if (imageData.depth == 32) {
-				// Assuming 32-bit color with alpha channel
-				return ColorType.RGBA_8888;
-			}
-		}
-
-		return ColorType.UNKNOWN;
-
-//		throw new UnsupportedOperationException("Unsupported SWT ColorType: " + Integer.toBinaryString(palette.redMask)
-//				+ "__" + Integer.toBinaryString(palette.greenMask) + "__" + Integer.toBinaryString(palette.blueMask));
+	/**
+	 * Returns the converted image from the cache of the device. The result must
+	 * not be closed.
+	 */
+	private io.github.humbleui.skija.Image getCachedSkijaImage(Image swtImage) {
+		return SkijaImageCache.getCache(device).get(swtImage, DPIUtil.getDeviceZoom());
 	}
 
 	private static io.github.humbleui.skija.Image convertSWTImageToSkijaImage(Image swtImage) {
@@ -506,127 +1070,15 @@ public class SkijaGC extends GCHandle {
 	}
 
 	static io.github.humbleui.skija.Image convertSWTImageToSkijaImage(ImageData imageData) {
-		int width = imageData.width;
-		int height = imageData.height;
-		ColorType colType = getColorType(imageData);
-
-		// always prefer the alphaData. If these are set, the bytes data are empty!!
-		if (colType.equals(ColorType.UNKNOWN) || imageData.alphaData != null) {
-			byte[] bytes = null;
-			bytes = convertToRGBA(imageData);
-			colType = ColorType.RGBA_8888;
-			ImageInfo imageInfo = new ImageInfo(width, height, colType, ColorAlphaType.UNPREMUL);
-			return io.github.humbleui.skija.Image.makeRasterFromBytes(imageInfo, bytes,
-				imageData.width * 4);
-		} else {
-			ImageInfo imageInfo = new ImageInfo(width, height, colType, ColorAlphaType.UNPREMUL);
-
-			return io.github.humbleui.skija.Image.makeRasterFromBytes(imageInfo, imageData.data,
-				imageData.width * 4);
-		}
+		return SkijaPixelConverter.toSkijaImage(imageData);
 	}
 
 	public static byte[] convertToRGBA(ImageData imageData) {
-		ImageData transparencyData = imageData.getTransparencyMask();
-		byte[] convertedData = new byte[imageData.width * imageData.height * 4];
-		byte defaultAlpha = (byte)255;
-
-		var source = imageData.data;
-		int bytesPerPixel = source.length / (imageData.width * imageData.height);
-
-		var alphaData = imageData.alphaData;
-		if (imageData.alpha != -1) {
-			defaultAlpha = (byte) imageData.alpha;
-		}
-
-		boolean byteSourceContainsAlpha = bytesPerPixel > 3;
-
-		RGB[] cols = imageData.palette.colors;
-
-		for (int y = 0; y < imageData.height; y++) {
-			for (int x = 0; x < imageData.width; x++) {
-				int pixel = imageData.getPixel(x, y);
-				int arrayPos = (y * imageData.width + x);
-
-				byte r = (byte) ((pixel & imageData.palette.redMask) >>> -imageData.palette.redShift);
-				byte g = (byte) ((pixel & imageData.palette.greenMask) >>> -imageData.palette.greenShift);
-				byte b = (byte) ((pixel & imageData.palette.blueMask) >>> -imageData.palette.blueShift);
-
-				if (cols != null) {
-					RGB rgb = cols[pixel];
-
-					r = (byte) rgb.red;
-					b = (byte) rgb.blue;
-					g = (byte) rgb.green;
-				}
-
-				byte a = (byte)255;
-				if (transparencyData != null) {
-					if (transparencyData.getPixel(x, y) != 1) {
-						a = (byte) 0;
-					}
-				}
-
-				var index = arrayPos * 4;
-
-				convertedData[index + 0] = (byte) r;
-				convertedData[index + 1] = (byte) g;
-				convertedData[index + 2] = (byte) b;
-				convertedData[index + 3] = (byte) a;
-
-//				if (alphaData != null && alphaData.length > arrayPos) {
-//					convertedData[index + 3] = alphaData[arrayPos];
-//				} else if (imageData.alpha != -1) {
-//					convertedData[index + 3] = defaultAlpha;
-//				} else if(!byteSourceContainsAlpha) {
-//					convertedData[index + 3] = defaultAlpha;
-//				}
-			}
-		}
-
-		return convertedData;
+		return SkijaPixelConverter.toRGBA(imageData);
 	}
 
 	static ImageData convertToSkijaImageData(io.github.humbleui.skija.Image image) {
-		Bitmap bm = Bitmap.makeFromImage(  image);
-		var colType = bm.getColorType();
-		byte[] alphas = new byte[bm.getHeight() * bm.getWidth()];
-		var source = bm.readPixels();
-		byte[] convertedData = new byte[bm.getHeight() * bm.getWidth() * 3];
-
-		var colorOrder = getPixelOrder(colType);
-
-		// no alphaType handling support. UNPREMUL and OPAQUE should always work.
-//		ColorAlphaType alphaType = bm.getAlphaType();
-
-		for (int y = 0; y < bm.getHeight(); y++) {
-			for (int x = 0; x < bm.getWidth(); x++) {
-				byte alpha = convertAlphaTo255Range(bm.getAlphaf(x, y));
-
-				int index = (x + y * bm.getWidth()) * 4;
-
-				byte red = (byte) source[index + colorOrder[0]];
-				byte green = (byte) source[index + colorOrder[1]];
-				byte blue = (byte) source[index + colorOrder[2]];
-				alpha = (byte) source[index + colorOrder[3]];
-
-				alphas[x + y * bm.getWidth()] = alpha;
-
-				int target = (x + y * bm.getWidth()) * 3;
-
-				convertedData[target + 0] = (byte) (red);
-				convertedData[target + 1] = (byte) (green);
-				convertedData[target + 2] = (byte) (blue);
-			}
-		}
-
-		ImageData d = new ImageData(bm.getWidth(), bm.getHeight(), 24,
-				new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
-		d.data = convertedData;
-		d.alphaData = alphas;
-		d.bytesPerLine = d.width * 3;
-
-		return d;
+		return SkijaPixelConverter.toImageData(image);
 	}
 
 	public static void writeFile(String str, io.github.humbleui.skija.Image image) {
@@ -702,7 +1154,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawLine(int x1, int y1, int x2, int y2) {
 		float scaledOffsetValue = getScaledOffsetValue();
-		performDrawLine(paint -> surface.getCanvas().drawLine(DPIUtil.autoScaleUp(x1) + scaledOffsetValue,
+		performDrawLine(paint -> getCanvas().drawLine(DPIUtil.autoScaleUp(x1) + scaledOffsetValue,
 				DPIUtil.autoScaleUp(y1) + scaledOffsetValue, DPIUtil.autoScaleUp(x2) + scaledOffsetValue,
 				DPIUtil.autoScaleUp(y2) + scaledOffsetValue, paint));
 	}
@@ -730,19 +1182,25 @@ public class SkijaGC extends GCHandle {
 		if (text.contains("\t")) {
 			text = expandTabs(text, x);
 		}
-		TextBlob textBlob = buildTextBlob(text);
+		SkijaTextBlobCache.Entry shapedText = SkijaTextBlobCache.getDefault().get(getSkiaFont(), text, flags,
+				this::buildTextBlob);
+		TextBlob textBlob = shapedText.blob();
 		if (textBlob == null) {
 			return;
 		}
+		Point point = calculateSymbolCenterPoint(x, y);
 		if ((flags & (SWT.TRANSPARENT | SWT.DRAW_TRANSPARENT)) == 0) {
-			int textWidth = Math.round(textBlob.getBounds().getWidth());
-			int fontHeight = Math.round(skiaFont.getMetrics().getHeight());
-			performDrawFilled(
-					paint -> surface.getCanvas().drawRect(new Rect(DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y),
-							DPIUtil.autoScaleUp(x) + textWidth, DPIUtil.autoScaleUp(y) + fontHeight), paint));
+			int textWidth = Math.round(shapedText.width());
+			int fontHeight = Math.round(getSkiaFont().getMetrics().getHeight());
+			Rect background = new Rect(DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y),
+					DPIUtil.autoScaleUp(x) + textWidth, DPIUtil.autoScaleUp(y) + fontHeight);
+			performDrawGroup(union(background, textBlob.getBounds().offset(point.x, point.y)), () -> {
+				performDrawFilled(paint -> getCanvas().drawRect(background, paint));
+				performDrawText(paint -> getCanvas().drawTextBlob(textBlob, point.x, point.y, paint));
+			});
+			return;
 		}
-		Point point = calculateSymbolCenterPoint(x, y);
-		performDrawText(paint -> surface.getCanvas().drawTextBlob(textBlob, point.x, point.y, paint));
+		performDrawText(paint -> getCanvas().drawTextBlob(textBlob, point.x, point.y, paint));
 	}
 
     /**
@@ -757,8 +1215,8 @@ public class SkijaGC extends GCHandle {
 	private String expandTabs(String text, int startX) {
 		StringBuilder result = new StringBuilder();
 		int currentX = 0;
-		int spaceWidth = textExtent(" ").x;
-		float _avgCharWidth = skiaFont.getMetrics()._avgCharWidth;
+		int spaceWidth = getCachedCharWidth(' ');
+		float _avgCharWidth = getSkiaFont().getMetrics()._avgCharWidth;
 		int avgCharWidth = (int) _avgCharWidth;
 		if (avgCharWidth <= 0) {
 			avgCharWidth = spaceWidth > 0 ? spaceWidth : 1;
@@ -771,17 +1229,30 @@ public class SkijaGC extends GCHandle {
 				int nextTabX = currentX + (tabSpacingPx - offsetInTab);
 				while (currentX < nextTabX) {
 					result.append(' ');
-					currentX += textExtent(" ").x;
+					currentX += spaceWidth;
+					if (spaceWidth <= 0) {
+						break;
+					}
 				}
 			} else {
-				String s = String.valueOf(ch);
-				int charWidth = textExtent(s).x;
 				result.append(ch);
-				currentX += charWidth;
+				currentX += getCachedCharWidth(ch);
 			}
 		}
 		return result.toString();
 	}
+
+	/**
+	 * Returns the width of the given character as {@link #textExtent(String)}
+	 * would, using the cached advances of the font.
+	 */
+	private int getCachedCharWidth(char ch) {
+		if (ch == '&') {
+			// mnemonic markers are not drawn
+			return 0;
+		}
+		return DPIUtil.autoScaleDownToInt(SkijaTextBlobCache.getDefault().getAdvance(getSkiaFont(), ch));
+	}
 	// y position in drawTextBlob() is the text baseline, e.g., the bottom of "T"
 	// but the middle of "y"
 	// So center a base symbol (like "T") in the desired text box (according to
@@ -789,7 +1260,7 @@ public class SkijaGC extends GCHandle {
 	// according to font metrics)
 	private Point calculateSymbolCenterPoint(int x, int y) {
 		int topLeftTextBoxYPosition = DPIUtil.autoScaleUp(y);
-		float heightOfTextBoxConsideredByClients = skiaFont.getMetrics().getHeight();
+		float heightOfTextBoxConsideredByClients = getSkiaFont().getMetrics().getHeight();
 		float heightOfSymbolToCenter = baseSymbolHeight;
 		Point point = new Point((int) DPIUtil.autoScaleUp(x),
 				(int) (topLeftTextBoxYPosition + heightOfTextBoxConsideredByClients / 2 + heightOfSymbolToCenter / 2));
@@ -800,21 +1271,22 @@ public class SkijaGC extends GCHandle {
 		text = replaceMnemonics(text);
 		String[] lines = splitString(text);
 		TextBlobBuilder blobBuilder = new TextBlobBuilder();
-		float lineHeight = skiaFont.getMetrics().getHeight();
+		float lineHeight = getSkiaFont().getMetrics().getHeight();
 		int yOffset = 0;
 		for (String line : lines) {
-			blobBuilder.appendRun(skiaFont, line, 0, yOffset);
+			blobBuilder.appendRun(getSkiaFont(), line, 0, yOffset);
 			yOffset += lineHeight;
 		}
 		TextBlob textBlob = blobBuilder.build();
 		blobBuilder.close();
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.TEXT_BLOBS);
 		return textBlob;
 	}
 
-	private String replaceMnemonics(String text) {
+	static String replaceMnemonics(String text) {
 		int mnemonicIndex = text.lastIndexOf('&');
 		if (mnemonicIndex != -1) {
-			text = text.replaceAll("&", "");
+			text = text.replace("&", "");
 			// TODO Underline the mnemonic key
 		}
 		return text;
@@ -822,7 +1294,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
-		performDrawLine(paint -> surface.getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
+		performDrawLine(paint -> getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
 				(float) DPIUtil.autoScaleUp(y), (float) DPIUtil.autoScaleUp(x + width),
 				(float) DPIUtil.autoScaleUp(y + height), -startAngle, (float) -arcAngle, false, paint));
 	}
@@ -830,8 +1302,12 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawFocus(int x, int y, int width, int height) {
 		performDrawLine(paint -> {
-			paint.setPathEffect(PathEffect.makeDash(new float[] { 1.5f, 1.5f }, 0.0f));
-			surface.getCanvas().drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint);
+			try (PathEffect focusDash = PathEffect.makeDash(new float[] { 1.5f, 1.5f }, 0.0f)) {
+				paint.setPathEffect(focusDash);
+				getCanvas().drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint);
+			}
+			// the cached stroke paint got a different dash effect
+			invalidatePaints(STROKE_PAINT);
 		});
 	}
 
@@ -858,7 +1334,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawOval(int x, int y, int width, int height) {
 		performDrawLine(
-				paint -> surface.getCanvas().drawOval(offsetRectangle(createScaledRectangle(x, y, width, height)),
+				paint -> getCanvas().drawOval(offsetRectangle(createScaledRectangle(x, y, width, height)),
 						paint));
 	}
 
@@ -873,13 +1349,13 @@ public class SkijaGC extends GCHandle {
 	public void drawPath(Path path) {
 		io.github.humbleui.skija.Path skijaPath = convertSWTPathToSkijaPath(path);
 		if (skijaPath == null) return;
-		performDrawLine(paint -> surface.getCanvas().drawPath(skijaPath, paint));
+		performDrawLine(paint -> getCanvas().drawPath(skijaPath, paint));
 		skijaPath.close();
 	}
 
 	@Override
 	public void drawPoint(int x, int y) {
-		performDrawPoint(paint -> surface.getCanvas().drawRect(createScaledRectangle(x, y, 1, 1), paint));
+		performDrawPoint(paint -> getCanvas().drawRect(createScaledRectangle(x, y, 1, 1), paint));
 	}
 
 	@Override
@@ -909,7 +1385,7 @@ public class SkijaGC extends GCHandle {
 		}
 		path.closePath();
 		// Draw the polygon outline
-		performDrawLine(paint -> surface.getCanvas().drawPath(path, paint));	
+		performDrawLine(paint -> getCanvas().drawPath(path, paint));	
 		path.close();
 		// Restore x-coordinates if mirrored
 		if (adjustX) {
@@ -929,7 +1405,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawRectangle(int x, int y, int width, int height) {
 		performDrawLine(
-				paint -> surface.getCanvas()
+				paint -> getCanvas()
 						.drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint));
 	}
 
@@ -940,7 +1416,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void drawRoundRectangle(int x, int y, int width, int height, int arcWidth, int arcHeight) {
-		performDrawLine(paint -> surface.getCanvas().drawRRect(
+		performDrawLine(paint -> getCanvas().drawRRect(
 				offsetRectangle(createScaledRoundRectangle(x, y, width, height, arcWidth / 2.0f, arcHeight / 2.0f)),
 				paint));
 	}
@@ -955,20 +1431,25 @@ public class SkijaGC extends GCHandle {
 		if (string == null) {
 			SWT.error(SWT.ERROR_NULL_ARGUMENT);
 		}
+		Point point = calculateSymbolCenterPoint(x, y);
 		if (!isTransparent) {
-			int width = (int) DPIUtil.autoScaleDown(skiaFont.measureTextWidth(string));
-			int height = (int) DPIUtil.autoScaleDown(skiaFont.getMetrics().getHeight());
-			fillRectangle(x, y, width, height);
+			int width = (int) DPIUtil.autoScaleDown(getSkiaFont().measureTextWidth(string));
+			int height = (int) DPIUtil.autoScaleDown(getSkiaFont().getMetrics().getHeight());
+			Rect textBounds = getSkiaFont().measureText(string).offset(point.x, point.y);
+			performDrawGroup(union(createScaledRectangle(x, y, width, height), textBounds), () -> {
+				fillRectangle(x, y, width, height);
+				performDrawText(paint -> getCanvas().drawString(string, point.x, point.y, getSkiaFont(), paint));
+			});
+			return;
 		}
-		Point point = calculateSymbolCenterPoint(x, y);
 		performDrawText(paint -> {
-			surface.getCanvas().drawString(string, point.x, point.y, skiaFont, paint);
+			getCanvas().drawString(string, point.x, point.y, getSkiaFont(), paint);
 		});
 	}
 
 	@Override
 	public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
-		performDrawFilled(paint -> surface.getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
+		performDrawFilled(paint -> getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
 				(float) DPIUtil.autoScaleUp(y), (float) DPIUtil.autoScaleUp(x + width),
 				(float) DPIUtil.autoScaleUp(y + height), (float) -startAngle, (float) -arcAngle, false, paint));
 	}
@@ -995,7 +1476,7 @@ public class SkijaGC extends GCHandle {
 		int fromColor = convertSWTColorToSkijaColor(getForeground());
 		int toColor = convertSWTColorToSkijaColor(getBackground());
 		if (fromColor == toColor) {
-			performDrawFilled(paint -> surface.getCanvas().drawRect(rect, paint));
+			performDrawFilled(paint -> getCanvas().drawRect(rect, paint));
 			return;
 		}
 		if (swapColors) {
@@ -1003,7 +1484,7 @@ public class SkijaGC extends GCHandle {
 			fromColor = convertSWTColorToSkijaColor(getBackground());
 			toColor = tempColor;
 		}
-		performDrawGradientFilled(paint -> surface.getCanvas().drawRect(rect, paint), x, y, x2, y2, fromColor, toColor);
+		performDrawGradientFilled(paint -> getCanvas().drawRect(rect, paint), x, y, x2, y2, fromColor, toColor);
 	}
 
 	private void performDrawGradientFilled(Consumer<Paint> operations, int x, int y, int x2, int y2,
@@ -1022,7 +1503,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void fillOval(int x, int y, int width, int height) {
 		performDrawFilled(
-				paint -> surface.getCanvas().drawOval(createScaledRectangle(x, y, width, height), paint));
+				paint -> getCanvas().drawOval(createScaledRectangle(x, y, width, height), paint));
 	}
 
 	/**
@@ -1039,7 +1520,7 @@ public class SkijaGC extends GCHandle {
 			return;
 		}
 		skijaPath.setFillMode(fillRule == SWT.FILL_EVEN_ODD ? PathFillMode.EVEN_ODD : PathFillMode.WINDING);
-		performDrawFilled(paint -> surface.getCanvas().drawPath(skijaPath, paint));
+		performDrawFilled(paint -> getCanvas().drawPath(skijaPath, paint));
 		skijaPath.close();
 	}
 
@@ -1061,26 +1542,26 @@ public class SkijaGC extends GCHandle {
 		path.closePath();
 		path.setFillMode(fillRule == SWT.FILL_EVEN_ODD ? PathFillMode.EVEN_ODD : PathFillMode.WINDING);
 		// Fill the polygon
-		performDrawFilled(paint -> surface.getCanvas().drawPath(path, paint));		
+		performDrawFilled(paint -> getCanvas().drawPath(path, paint));		
 		path.close();
 	}
 
 	@Override
 	public void fillRectangle(int x, int y, int width, int height) {
 		performDrawFilled(
-				paint -> surface.getCanvas().drawRect(createScaledRectangle(x, y, width, height), paint));
+				paint -> getCanvas().drawRect(createScaledRectangle(x, y, width, height), paint));
 	}
 
 	@Override
 	public void fillRoundRectangle(int x, int y, int width, int height, int arcWidth, int arcHeight) {
-		performDrawFilled(paint -> surface.getCanvas()
+		performDrawFilled(paint -> getCanvas()
 				.drawRRect(createScaledRoundRectangle(x, y, width, height, arcWidth / 2.0f, arcHeight / 2.0f), paint));
 	}
 
 	@Override
 	public Point textExtent(String string, int flags) {
-		float height = skiaFont.getMetrics().getHeight();
-		float width = skiaFont.measureTextWidth(replaceMnemonics(string));
+		float height = getSkiaFont().getMetrics().getHeight();
+		float width = getSkiaFont().measureTextWidth(replaceMnemonics(string));
 		return new Point(DPIUtil.autoScaleDownToInt(width), DPIUtil.autoScaleDownToInt(height));
 	}
 
@@ -1091,48 +1572,41 @@ public class SkijaGC extends GCHandle {
 				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 			}
 		} else {
-			font = innerGC.getFont();
+			font = innerGC != null ? innerGC.getFont() : device.getSystemFont();
 		}
 		this.swtFont = font;
-		innerGC.setFont(font);
+		if (innerGC != null) {
+			innerGC.setFont(font);
+		}
 
 		this.skiaFont = convertToSkijaFont(font);
 		this.baseSymbolHeight = this.skiaFont.measureText("T").getHeight();
 	}
 
+	/**
+	 * Returns the Skia font for the given SWT font. The font is owned by the
+	 * {@link SkijaFontCache} of the device of the font and must not be closed.
+	 */
 	static Font convertToSkijaFont(org.eclipse.swt.graphics.Font font) {
-		FontData fontData = font.getFontData()[0];
-		var cachedFont = FONT_CACHE.get(fontData);
-		if (cachedFont != null && cachedFont.isClosed()) {
-			FONT_CACHE.remove(fontData);
-		}
-		return FONT_CACHE.computeIfAbsent(fontData, SkijaGC::createSkijaFont);
+		return SkijaFontCache.getCache(font.getDevice()).getFont(font.getFontData()[0],
+				DPIUtil.getNativeDeviceZoom());
 	}
 
-	static Font createSkijaFont(FontData fontData) {
-		FontStyle style = FontStyle.NORMAL;
-		boolean isBold = (fontData.getStyle() & SWT.BOLD) != 0;
-		boolean isItalic = (fontData.getStyle() & SWT.ITALIC) != 0;
-		if (isBold && isItalic) {
-			style = FontStyle.BOLD_ITALIC;
-		} else if (isBold) {
-			style = FontStyle.BOLD;
-		} else if (isItalic) {
-			style = FontStyle.ITALIC;
-		}
-		Font skijaFont = new Font(Typeface.makeFromName(fontData.getName(), style));
-		int fontSize = DPIUtil.scaleUp(fontData.getHeight(), DPIUtil.getNativeDeviceZoom());
-		if (SWT.getPlatform().equals("win32")) {
-			fontSize *= skijaFont.getSize() / Display.getDefault().getSystemFont().getFontData()[0].getHeight();
-		}
-		if (SWT.getPlatform().equals("gtk")) {
-			// SWT's font size is in points, 1pt = 1/72 inch, adjust skija font size to this
-			fontSize = (fontSize * Display.getDefault().getDPI().y) / 72;
-		}
-		skijaFont.setSize(fontSize);
-		skijaFont.setEdging(FontEdging.SUBPIXEL_ANTI_ALIAS);
-		skijaFont.setSubpixel(true);
-		return skijaFont;
+	/**
+	 * Creates a new Skia font for the given SWT font, which has to be closed by
+	 * the caller.
+	 */
+	static Font createSkijaFont(org.eclipse.swt.graphics.Font font) {
+		return SkijaFontCache.getCache(font.getDevice()).createFont(font.getFontData()[0],
+				DPIUtil.getNativeDeviceZoom());
+	}
+
+	/**
+	 * Returns the Skia font of the current SWT font. The font stays valid after
+	 * it was evicted from the font cache.
+	 */
+	private Font getSkiaFont() {
+		return skiaFont;
 	}
 
 	@Override
@@ -1157,7 +1631,7 @@ public class SkijaGC extends GCHandle {
 	public void setTransform(Transform transform) {
 		if (transform == null) {
 			currentTransform = Matrix33.IDENTITY;
-			surface.getCanvas().setMatrix(currentTransform);
+			applyTransform();
 		} else {
 			if (transform.isDisposed()) {
 				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
@@ -1177,16 +1651,23 @@ public class SkijaGC extends GCHandle {
 					0, 0, 1 // perspective elements
 			};
 			currentTransform = new Matrix33(skijaMat);
-			surface.getCanvas().setMatrix(currentTransform);
+			applyTransform();
 		}
 	}
 
+	private void applyTransform() {
+		// a recorded picture is drawn with the base transformation applied
+		Matrix33 base = pictureRecorder != null ? Matrix33.IDENTITY : baseTransform;
+		getCanvas().setMatrix(base.makeConcat(currentTransform));
+	}
+
 	/**
 	 * Sets the alpha value for drawing operations. The alpha value controls the transparency
 	 * of all subsequent drawing operations.
 	 * <p>
-	 * When alpha is less than 255, a new layer is created with the specified alpha level.
-	 * This affects all drawing operations until the alpha is changed again.
+	 * The alpha is applied by the paint of each drawing operation, so no offscreen
+	 * layer is needed. Only operations which draw overlapping parts, like a text
+	 * with its background, are composited in a layer bounded by their area.
 	 * </p>
 	 *
 	 * @param alpha the alpha value, must be between 0 (fully transparent) and 255 (fully opaque)
@@ -1198,18 +1679,8 @@ public class SkijaGC extends GCHandle {
             SWT.error(SWT.ERROR_INVALID_ARGUMENT);
         }
         if (this.alpha != alpha) {
-            if (hasAlphaLayer) {
-                surface.getCanvas().restore();
-                hasAlphaLayer = false;
-            }
             this.alpha = alpha;
-            if (alpha < 255) {
-                Paint layerPaint = new Paint();
-                layerPaint.setAlphaf(alpha / 255.0f);
-                surface.getCanvas().saveLayer(null, layerPaint);
-                layerPaint.close();
-                hasAlphaLayer = true;
-            }
+            invalidatePaints(ALL_PAINTS);
         }
     }
 
@@ -1227,11 +1698,12 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void setLineWidth(int i) {
 		this.lineWidth = i;
+		invalidatePaints(STROKE_PAINT);
 	}
 
 	@Override
 	public FontMetrics getFontMetrics() {
-		FontMetricsHandle fmh = new SkijaFontMetrics(skiaFont.getMetrics());
+		FontMetricsHandle fmh = new SkijaFontMetrics(getSkiaFont().getMetrics());
 
 		FontMetrics fm = new FontMetrics();
 		fm.innerFontMetrics = fmh;
@@ -1291,6 +1763,11 @@ public class SkijaGC extends GCHandle {
 				DPIUtil.autoScaleUp(y + height));
 	}
 
+	static Rect union(Rect a, Rect b) {
+		return Rect.makeLTRB(Math.min(a.getLeft(), b.getLeft()), Math.min(a.getTop(), b.getTop()),
+				Math.max(a.getRight(), b.getRight()), Math.max(a.getBottom(), b.getBottom()));
+	}
+
 	private float getScaledOffsetValue() {
 		boolean isDefaultLineWidth = lineWidth == 0;
 		if (isDefaultLineWidth) {
@@ -1320,6 +1797,7 @@ public class SkijaGC extends GCHandle {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 		this.lineStyle = lineStyle;
+		invalidatePaints(STROKE_PAINT);
 	}
 
 	@Override
@@ -1355,11 +1833,12 @@ public class SkijaGC extends GCHandle {
 		if (isDisposed()){
 		SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 		}
+		Rectangle clip = currentClipBounds.intersection(renderArea);
 		return new Rectangle(
-			DPIUtil.autoScaleUp(currentClipBounds.x),
-			DPIUtil.autoScaleUp(currentClipBounds.y),
-			DPIUtil.autoScaleUp(currentClipBounds.width),
-			DPIUtil.autoScaleUp(currentClipBounds.height)
+			DPIUtil.autoScaleUp(clip.x),
+			DPIUtil.autoScaleUp(clip.y),
+			DPIUtil.autoScaleUp(clip.width),
+			DPIUtil.autoScaleUp(clip.height)
 		);
 	}
 
@@ -1388,26 +1867,23 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void copyArea(Image image, int x, int y) {
-		io.github.humbleui.skija.Image skijaImage = convertSWTImageToSkijaImage(image);
-		io.github.humbleui.skija.Image copiedArea = surface.makeImageSnapshot(
-				createScaledRectangle(x, y, skijaImage.getWidth(), skijaImage.getHeight()).toIRect());
-
-		if (copiedArea != null) {
-			Surface imageSurface = surface.makeSurface(skijaImage.getWidth(), skijaImage.getHeight());
-			Canvas imageCanvas = imageSurface.getCanvas();
-			imageCanvas.drawImage(copiedArea, 0, 0);
-			skijaImage = imageSurface.makeImageSnapshot();
-			ImageData imgData = convertToSkijaImageData(skijaImage);
-			Image i = new Image(device, imgData);
-
-			NativeGC gc = new NativeGC(image);
-			gc.drawImage(i, 0,0 );
-			gc.dispose();
-			i.dispose();
-		} else {
+		if (image == null) {
+			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		}
+		if (image.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		Rectangle bounds = image.getBounds();
+		Rectangle requested = DPIUtil.autoScaleUp(new Rectangle(x, y, bounds.width, bounds.height));
+		Rectangle area = requested.intersection(new Rectangle(0, 0, surface.getWidth(), surface.getHeight()));
+		if (area.isEmpty()) {
 			System.err.println(
 					"WARN: Area copied at given x,y co-ordinates is null: " + new Throwable().getStackTrace()[0]);
+			return;
 		}
+		Rectangle dest = DPIUtil.autoScaleDown(
+				new Rectangle(area.x - requested.x, area.y - requested.y, area.width, area.height));
+		transferToImage(surface, area, image, dest);
 	}
 
 	@Override
@@ -1415,7 +1891,7 @@ public class SkijaGC extends GCHandle {
 
 		io.github.humbleui.skija.Image copiedArea = surface
 				.makeImageSnapshot(createScaledRectangle(srcX, srcY, width, height).toIRect());
-		surface.getCanvas().drawImage(copiedArea, DPIUtil.autoScaleUp(destX), DPIUtil.autoScaleUp(destY));
+		getCanvas().drawImage(copiedArea, DPIUtil.autoScaleUp(destX), DPIUtil.autoScaleUp(destY));
 	}
 
 	@Override
@@ -1438,8 +1914,11 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	boolean isClipped() {
-		System.err.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
-		return false;
+		return hasClip();
+	}
+
+	private boolean hasClip() {
+		return clipRect != null || clipRegion != null || clipPath != null;
 	}
 
 	@Override
@@ -1449,7 +1928,22 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	void getClipping(Region region) {
-		System.err.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
+		if (region == null) {
+			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		}
+		if (region.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		region.subtract(region.getBounds());
+		Rectangle clipping = getClipping();
+		if (clipRegion != null) {
+			for (Rectangle rect : clipRegion) {
+				region.add(rect);
+			}
+			region.intersect(clipping);
+		} else {
+			region.add(clipping);
+		}
 	}
 
 	@Override
@@ -1536,8 +2030,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	int getStyle() {
-		System.err.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
-		return 0;
+		return style;
 	}
 
 	@Override
@@ -1579,58 +2072,138 @@ public class SkijaGC extends GCHandle {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 		this.backgroundPattern = pattern;
+		invalidatePaints(FILL_PAINT);
 	}
 
+	@Override
 	protected void setClipping(Path path) {
-	    Canvas canvas = surface.getCanvas();
-	    if (isClipSet) {
-	        canvas.restore();
-	        isClipSet = false;
-	    }
-	    if (path == null) {
-	        return;
-	    }
-	    if (path.isDisposed()) {
-	        SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-	    }
-	    io.github.humbleui.skija.Path skijaPath = convertSWTPathToSkijaPath(path);
-	    if (skijaPath == null) {
-	        return;
-	    }
-	    skijaPath.setFillMode(fillRule == SWT.FILL_EVEN_ODD
-	        ? PathFillMode.EVEN_ODD
-	        : PathFillMode.WINDING);
-	    canvas.save();
-	    isClipSet = true;
-	    canvas.clipPath(skijaPath, ClipMode.INTERSECT, true);
+		if (path == null) {
+			setClipping((Rectangle) null);
+			return;
+		}
+		if (path.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		io.github.humbleui.skija.Path skijaPath = convertSWTPathToSkijaPath(path);
+		if (skijaPath == null) {
+			return;
+		}
+		skijaPath.setFillMode(fillRule == SWT.FILL_EVEN_ODD ? PathFillMode.EVEN_ODD : PathFillMode.WINDING);
+		float[] bounds = new float[4];
+		path.getBounds(bounds);
+		int x = (int) Math.floor(bounds[0]);
+		int y = (int) Math.floor(bounds[1]);
+		setClip(null, null, skijaPath, new Rectangle(x, y, (int) Math.ceil(bounds[0] + bounds[2]) - x,
+				(int) Math.ceil(bounds[1] + bounds[3]) - y));
 	}
 
 	@Override
 	public void setClipping(Rectangle rect) {
-		/**
-		 * this is a minimal implementation for set clipping with skija.
-		 */
-
-		// skija seems to work with state layer which will be set on top of each other.
-		// if more layers will be used a more complex handling is necessary
-		Canvas canvas = surface.getCanvas();
-		if (isClipSet) {
-			canvas.restore();
-			isClipSet = false;
-		}	
 		if (rect == null) {
-			currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+			if (hasClip()) {
+				setClip(null, null, null, null);
+			}
 			return;
-		}		
-		currentClipBounds = new Rectangle(rect.x, rect.y, rect.width, rect.height);
-		canvas.save();
-		canvas.clipRect(createScaledRectangle(rect));
-		isClipSet = true;
+		}
+		Rectangle newClip = new Rectangle(rect.x, rect.y, rect.width, rect.height);
+		if (newClip.equals(clipRect) && currentTransform.equals(clipTransform)) {
+			return;
+		}
+		if (Matrix33.IDENTITY.equals(currentTransform)
+				&& (!hasClip() || clipRect != null && Matrix33.IDENTITY.equals(clipTransform)
+						&& clipRect.intersection(newClip).equals(newClip))) {
+			// fast path: a rectangle within the current one only narrows the clip, so it is
+			// intersected with the clip on top of the canvas without restoring it
+			if (!isClipSet) {
+				getCanvas().save();
+				isClipSet = true;
+			}
+			getCanvas().clipRect(createScaledRectangle(newClip));
+			clipRect = newClip;
+			clipTransform = Matrix33.IDENTITY;
+			currentClipBounds = newClip;
+			return;
+		}
+		setClip(newClip, null, null, newClip);
 	}
 
 	@Override
 	protected void setClipping(Region region) {
-		System.err.println("WARN: Not implemented yet: " + new Throwable().getStackTrace()[0]);
+		if (region == null) {
+			setClipping((Rectangle) null);
+			return;
+		}
+		if (region.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		setClip(null, region.getRectangles(), null, region.getBounds());
+	}
+
+	/**
+	 * Replaces the clip by the given one, which is applied with the current
+	 * transformation.
+	 */
+	private void setClip(Rectangle rect, Rectangle[] region, io.github.humbleui.skija.Path path, Rectangle bounds) {
+		releaseClip();
+		clipRect = rect;
+		clipRegion = region;
+		clipPath = path;
+		clipTransform = currentTransform;
+		if (bounds != null) {
+			currentClipBounds = bounds;
+		}
+		applyClip();
+	}
+
+	private void releaseClip() {
+		if (clipPath != null) {
+			clipPath.close();
+		}
+		clipRect = null;
+		clipRegion = null;
+		clipPath = null;
+		clipTransform = Matrix33.IDENTITY;
+		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+	}
+
+	/**
+	 * Restores the canvas to its base state and applies the clip and the
+	 * transformation again.
+	 */
+	private void applyClip() {
+		Canvas canvas = getCanvas();
+		// the recording canvas has no base state
+		canvas.restoreToCount(pictureRecorder != null ? 1 : baseSaveCount);
+		isClipSet = false;
+		if (hasClip()) {
+			canvas.save();
+			isClipSet = true;
+			Matrix33 base = pictureRecorder != null ? Matrix33.IDENTITY : baseTransform;
+			canvas.setMatrix(base.makeConcat(clipTransform));
+			if (clipRect != null) {
+				canvas.clipRect(createScaledRectangle(clipRect));
+			} else if (clipPath != null) {
+				canvas.clipPath(clipPath, ClipMode.INTERSECT, true);
+			} else if (Matrix33.IDENTITY.equals(clipTransform)) {
+				// a region is in device coordinates, it is not affected by the matrix
+				IRect[] rects = new IRect[clipRegion.length];
+				for (int i = 0; i < rects.length; i++) {
+					rects[i] = createScaledRectangle(clipRegion[i]).toIRect();
+				}
+				try (io.github.humbleui.skija.Region region = new io.github.humbleui.skija.Region()) {
+					region.setRects(rects);
+					canvas.clipRegion(region);
+				}
+			} else {
+				try (io.github.humbleui.skija.Path path = new io.github.humbleui.skija.Path()) {
+					for (Rectangle rect : clipRegion) {
+						path.addRect(createScaledRectangle(rect));
+					}
+					canvas.clipPath(path, ClipMode.INTERSECT, true);
+				}
+			}
+		}
+		applyTransform();
 	}
 
 	@Override
@@ -1647,6 +2220,7 @@ public class SkijaGC extends GCHandle {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 		this.foregroundPattern = pattern;
+		invalidatePaints(FOREGROUND_PAINTS);
 	}
 	@Override
 	protected void setInterpolation(int interpolation) {
@@ -1784,6 +2358,7 @@ public class SkijaGC extends GCHandle {
 		if (!changed){
 			return;
 		}
+		invalidatePaints(STROKE_PAINT);
 	}
 
 	/**
@@ -1805,6 +2380,7 @@ public class SkijaGC extends GCHandle {
             SWT.error(SWT.ERROR_INVALID_ARGUMENT);
         }
         this.lineCap = cap;
+        invalidatePaints(STROKE_PAINT);
     }
 
 	@Override
@@ -1820,10 +2396,12 @@ public class SkijaGC extends GCHandle {
 			if (!changed) return;
 			this.lineDashes = newDashes;
 			this.lineStyle = SWT.LINE_CUSTOM;
+			invalidatePaints(STROKE_PAINT);
 		} else {
 			if (this.lineStyle == SWT.LINE_SOLID && (lineDashes == null || lineDashes.length == 0)) return;
 			this.lineDashes = null;
 			this.lineStyle = SWT.LINE_SOLID;
+			invalidatePaints(STROKE_PAINT);
 		}
 	}
 
@@ -1846,6 +2424,7 @@ public class SkijaGC extends GCHandle {
             SWT.error(SWT.ERROR_INVALID_ARGUMENT);
         }
         this.lineJoin = join;
+        invalidatePaints(STROKE_PAINT);
     }
 
 	@Override
@@ -1860,7 +2439,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public boolean isDisposed() {
-		return surface.isClosed();
+		return disposed || surface.isClosed();
 	}
 
 	static PaletteData getPaletteData(ColorType colorType) {
@@ -2039,7 +2618,7 @@ public class SkijaGC extends GCHandle {
 		for (int i = 2; i < pts.length; i += 2) {
 			path.lineTo(pts[i], pts[i + 1]);
 		}
-		performDrawLine(paint -> surface.getCanvas().drawPath(path, paint));
+		performDrawLine(paint -> getCanvas().drawPath(path, paint));
 
 		// Draw last point if lineWidth <= 1 (to match SetPixel behavior)
 		if (pointArray.length >= 2 && lineWidth <= 1) {
@@ -2082,15 +2661,7 @@ public class SkijaGC extends GCHandle {
 	private Shader convertSWTPatternToSkijaShader(Pattern pattern) {
 		if (pattern == null || pattern.isDisposed()) {
 			return null;
-		}		
-		Image patternImage = pattern.getImage();
-		if (patternImage == null || patternImage.isDisposed()) {
-			return null;
-		}		
-		io.github.humbleui.skija.Image skijaImage = convertSWTImageToSkijaImage(patternImage);
-		if (skijaImage == null) {
-			return null;
-		}		
-		return skijaImage.makeShader(FilterTileMode.REPEAT, FilterTileMode.REPEAT, null);
+		}
+		return pattern.skijaShader.getShader(DPIUtil.getDeviceZoom());
 	}
 }
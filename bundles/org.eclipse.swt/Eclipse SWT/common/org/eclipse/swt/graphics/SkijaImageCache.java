@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.widgets.*;
+
+/**
+ * Caches the Skia images converted from SWT images per device, so that icons
+ * are not read back and converted on every paint. Entries are keyed by the
+ * identity of the SWT image and the zoom. They are dropped when the image is
+ * disposed or a GC on the image is disposed, and the least recently used
+ * entries are evicted once the size exceeds the budget.
+ * <p>
+ * As a Skia image can still be drawn by one thread after another thread has
+ * dropped it from the cache, dropped images are not closed. They are released
+ * by the garbage collector once they are no longer drawn.
+ * </p>
+ * <p>
+ * The budget in bytes can be configured with the system property
+ * <code>org.eclipse.swt.skija.imageCacheSize</code>.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaImageCache {
+
+	static final long DEFAULT_BUDGET = Long.getLong("org.eclipse.swt.skija.imageCacheSize", 64L * 1024 * 1024); //$NON-NLS-1$
+
+	private static final Map<Device, SkijaImageCache> CACHES = new ConcurrentHashMap<>();
+
+	private record Key(Image image, int zoom) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && other.image == image && other.zoom == zoom;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(image) * 31 + zoom;
+		}
+	}
+
+	private final LinkedHashMap<Key, io.github.humbleui.skija.Image> entries = new LinkedHashMap<>(16, 0.75f, true);
+	// the zooms of the entries of each image, so that an image is dropped without a scan of all entries
+	private final Map<Image, java.util.List<Integer>> zooms = new IdentityHashMap<>();
+	private long budget = DEFAULT_BUDGET;
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	private SkijaImageCache() {
+	}
+
+	/**
+	 * Returns the cache of the given device. The cache of a display is cleared
+	 * when the display is disposed.
+	 */
+	public static SkijaImageCache getCache(Device device) {
+		SkijaImageCache cache = CACHES.get(device);
+		if (cache == null) {
+			cache = new SkijaImageCache();
+			SkijaImageCache existing = CACHES.putIfAbsent(device, cache);
+			if (existing != null) {
+				return existing;
+			}
+			if (device instanceof Display display) {
+				SkijaImageCache created = cache;
+				SkijaDeviceDefaults.disposeExec(display, () -> {
+					CACHES.remove(display);
+					created.clear();
+				});
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Drops the cached conversions of the given image, e.g. because it was
+	 * disposed or drawn on.
+	 */
+	static void invalidate(Image image) {
+		Device device = image.device;
+		if (device == null) {
+			return;
+		}
+		SkijaImageCache cache = CACHES.get(device);
+		if (cache != null) {
+			cache.remove(image);
+		}
+	}
+
+	/**
+	 * Returns the Skia image for the given SWT image at the given zoom. The
+	 * returned image is owned by the cache and must not be closed.
+	 */
+	synchronized io.github.humbleui.skija.Image get(Image image, int zoom) {
+		Key key = new Key(image, zoom);
+		io.github.humbleui.skija.Image skijaImage = entries.get(key);
+		// a GC is currently drawing on the image, so the content may have changed
+		boolean modifiable = image.memGC != null;
+		if (skijaImage != null && !modifiable) {
+			hits++;
+			return skijaImage;
+		}
+		misses++;
+		skijaImage = SkijaGC.convertSWTImageToSkijaImage(image.getImageData(zoom));
+		store(key, skijaImage);
+		return skijaImage;
+	}
+
+	/**
+	 * Stores the given Skia image as the conversion of the given SWT image at the
+	 * given zoom, e.g. the rendering an offscreen GC has just transferred into
+	 * the image. The cache takes over the Skia image.
+	 */
+	synchronized void put(Image image, int zoom, io.github.humbleui.skija.Image skijaImage) {
+		store(new Key(image, zoom), skijaImage);
+	}
+
+	private void store(Key key, io.github.humbleui.skija.Image skijaImage) {
+		io.github.humbleui.skija.Image previous = entries.put(key, skijaImage);
+		if (previous != null) {
+			size -= getByteSize(previous);
+		} else {
+			zooms.computeIfAbsent(key.image(), image -> new ArrayList<>(1)).add(key.zoom());
+		}
+		size += getByteSize(skijaImage);
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, io.github.humbleui.skija.Image>> iterator = entries.entrySet().iterator();
+		// keep at least the most recent entry, it is still in use by the caller
+		while (size > budget && entries.size() > 1) {
+			Map.Entry<Key, io.github.humbleui.skija.Image> eldest = iterator.next();
+			iterator.remove();
+			removeZoom(eldest.getKey());
+			size -= getByteSize(eldest.getValue());
+			evictions++;
+		}
+	}
+
+	private void removeZoom(Key key) {
+		java.util.List<Integer> imageZooms = zooms.get(key.image());
+		imageZooms.remove(Integer.valueOf(key.zoom()));
+		if (imageZooms.isEmpty()) {
+			zooms.remove(key.image());
+		}
+	}
+
+	private synchronized void remove(Image image) {
+		java.util.List<Integer> imageZooms = zooms.remove(image);
+		if (imageZooms == null) {
+			return;
+		}
+		for (int zoom : imageZooms) {
+			size -= getByteSize(entries.remove(new Key(image, zoom)));
+		}
+	}
+
+	private static long getByteSize(io.github.humbleui.skija.Image image) {
+		return (long) image.getWidth() * image.getHeight() * 4;
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		zooms.clear();
+		size = 0;
+	}
+
+	public synchronized long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the maximum size of the cached images in bytes.
+	 */
+	public synchronized void setBudget(long budget) {
+		this.budget = budget;
+		evict();
+	}
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public synchronized int getEntryCount() {
+		return entries.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized void resetCounters() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+}
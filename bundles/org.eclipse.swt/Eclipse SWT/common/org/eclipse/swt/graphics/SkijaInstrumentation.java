@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Records where the time of the custom-drawn controls goes. The time spent in
+ * painting, committing and measuring is recorded per control class together
+ * with a histogram of the durations, and the number of created Skia objects and
+ * the bytes transferred to the native side are counted.
+ * <p>
+ * The instrumentation is enabled with the system property
+ * <code>org.eclipse.swt.skija.instrumentation</code> or with
+ * {@link #setEnabled(boolean)}. The data is read with {@link #getSnapshot()}
+ * and is also emitted as JDK Flight Recorder events, so it can be recorded in a
+ * running application without attaching a profiler.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaInstrumentation {
+
+	/** The measured operations. */
+	public enum Phase {
+		/** The paint of a control by its renderer. */
+		PAINT,
+		/** The transfer of a rendering to the native GC. */
+		COMMIT,
+		/** The measuring of a control with a GC. */
+		MEASURE
+	}
+
+	/** The counted events. */
+	public enum Counter {
+		SURFACES, PAINTS, FONTS, TEXT_BLOBS, TRANSFERRED_BYTES
+	}
+
+	/**
+	 * The number of buckets of a histogram. Bucket <code>i</code> counts the
+	 * durations below <code>2^i</code> microseconds, the last one all longer
+	 * durations.
+	 */
+	public static final int BUCKETS = 24;
+
+	private static volatile boolean enabled = Boolean.getBoolean("org.eclipse.swt.skija.instrumentation"); //$NON-NLS-1$
+	private static volatile boolean flightRecorderAvailable = true;
+
+	private record Key(Phase phase, Class<?> type) {
+	}
+
+	private static final class Recorder {
+		final LongAdder count = new LongAdder();
+		final LongAdder totalNanos = new LongAdder();
+		final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		void record(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			histogram.incrementAndGet(getBucket(nanos));
+		}
+	}
+
+	private static final Map<Key, Recorder> RECORDERS = new ConcurrentHashMap<>();
+	private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+
+	static {
+		for (int i = 0; i < COUNTERS.length; i++) {
+			COUNTERS[i] = new LongAdder();
+		}
+		if (enabled) {
+			registerFlightRecorderEvents();
+		}
+	}
+
+	private SkijaInstrumentation() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the instrumentation. The recorded data is kept until
+	 * {@link #reset()}.
+	 */
+	public static void setEnabled(boolean enabled) {
+		if (enabled && !SkijaInstrumentation.enabled) {
+			registerFlightRecorderEvents();
+		}
+		SkijaInstrumentation.enabled = enabled;
+	}
+
+	/**
+	 * Returns the start time of a measured operation, which is passed to
+	 * {@link #end(Phase, Class, long)}, or 0 if the instrumentation is disabled.
+	 */
+	public static long begin() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the duration of a measured operation of the given control class.
+	 *
+	 * @param phase the measured operation
+	 * @param type  the class of the control
+	 * @param begin the start time returned by {@link #begin()}
+	 */
+	public static void end(Phase phase, Class<?> type, long begin) {
+		if (begin == 0 || !enabled) {
+			return;
+		}
+		long nanos = System.nanoTime() - begin;
+		RECORDERS.computeIfAbsent(new Key(phase, type), k -> new Recorder()).record(nanos);
+		if (flightRecorderAvailable) {
+			try {
+				SkijaInstrumentationEvents.emitTiming(phase, type, nanos);
+			} catch (LinkageError e) {
+				// the jdk.jfr module is not available
+				flightRecorderAvailable = false;
+			}
+		}
+	}
+
+	static void count(Counter counter) {
+		if (enabled) {
+			COUNTERS[counter.ordinal()].increment();
+		}
+	}
+
+	static void count(Counter counter, long amount) {
+		if (enabled) {
+			COUNTERS[counter.ordinal()].add(amount);
+		}
+	}
+
+	static long getCount(Counter counter) {
+		return COUNTERS[counter.ordinal()].sum();
+	}
+
+	private static void registerFlightRecorderEvents() {
+		if (!flightRecorderAvailable) {
+			return;
+		}
+		try {
+			SkijaInstrumentationEvents.register();
+		} catch (LinkageError e) {
+			flightRecorderAvailable = false;
+		}
+	}
+
+	static int getBucket(long nanos) {
+		long micros = nanos / 1000;
+		return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	/**
+	 * Returns the recorded timings and counters.
+	 */
+	public static Snapshot getSnapshot() {
+		List<Timing> timings = new ArrayList<>();
+		RECORDERS.forEach((key, recorder) -> {
+			long[] histogram = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram[i] = recorder.histogram.get(i);
+			}
+			timings.add(new Timing(key.phase(), key.type().getName(), recorder.count.sum(),
+					recorder.totalNanos.sum(), recorder.maxNanos.get(), histogram));
+		});
+		timings.sort(Comparator.comparingLong(Timing::totalNanos).reversed());
+		Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+		for (Counter counter : Counter.values()) {
+			counters.put(counter, getCount(counter));
+		}
+		return new Snapshot(Collections.unmodifiableList(timings), Collections.unmodifiableMap(counters));
+	}
+
+	/**
+	 * Drops the recorded timings and counters.
+	 */
+	public static void reset() {
+		RECORDERS.clear();
+		for (LongAdder counter : COUNTERS) {
+			counter.reset();
+		}
+	}
+
+	/**
+	 * The timings of one operation of one control class.
+	 *
+	 * @param phase        the measured operation
+	 * @param controlClass the name of the control class
+	 * @param count        the number of recorded operations
+	 * @param totalNanos   the total duration in nanoseconds
+	 * @param maxNanos     the longest duration in nanoseconds
+	 * @param histogram    the number of durations per bucket, see
+	 *                     {@link SkijaInstrumentation#BUCKETS}
+	 */
+	public record Timing(Phase phase, String controlClass, long count, long totalNanos, long maxNanos,
+			long[] histogram) {
+
+		public long averageNanos() {
+			return count == 0 ? 0 : totalNanos / count;
+		}
+	}
+
+	/**
+	 * The recorded data at one point in time.
+	 *
+	 * @param timings  the timings, the one with the longest total duration first
+	 * @param counters the counted events
+	 */
+	public record Snapshot(List<Timing> timings, Map<Counter, Long> counters) {
+
+		public long getCount(Counter counter) {
+			return counters.getOrDefault(counter, 0L);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.graphics.SkijaInstrumentation.*;
+
+import jdk.jfr.*;
+
+/**
+ * The JDK Flight Recorder events of {@link SkijaInstrumentation}. They are kept
+ * in a separate class, so the instrumentation works without the jdk.jfr module.
+ */
+final class SkijaInstrumentationEvents {
+
+	@Name("org.eclipse.swt.skija.Timing")
+	@Label("SWT Skija Timing")
+	@Description("A paint, commit or measure of a custom-drawn control")
+	@Category({ "SWT", "Skija" })
+	@StackTrace(false)
+	static final class TimingEvent extends Event {
+		@Label("Phase")
+		String phase;
+
+		@Label("Control Class")
+		Class<?> controlClass;
+
+		@Label("Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long duration;
+	}
+
+	@Name("org.eclipse.swt.skija.Counters")
+	@Label("SWT Skija Counters")
+	@Description("The Skia objects created and the bytes transferred to the native side so far")
+	@Category({ "SWT", "Skija" })
+	@StackTrace(false)
+	@Period("1 s")
+	static final class CountersEvent extends Event {
+		@Label("Surfaces")
+		long surfaces;
+
+		@Label("Paints")
+		long paints;
+
+		@Label("Fonts")
+		long fonts;
+
+		@Label("Text Blobs")
+		long textBlobs;
+
+		@Label("Transferred Bytes")
+		@DataAmount
+		long transferredBytes;
+	}
+
+	private static boolean registered;
+
+	private SkijaInstrumentationEvents() {
+	}
+
+	static synchronized void register() {
+		if (registered) {
+			return;
+		}
+		FlightRecorder.addPeriodicEvent(CountersEvent.class, () -> {
+			CountersEvent event = new CountersEvent();
+			event.surfaces = SkijaInstrumentation.getCount(Counter.SURFACES);
+			event.paints = SkijaInstrumentation.getCount(Counter.PAINTS);
+			event.fonts = SkijaInstrumentation.getCount(Counter.FONTS);
+			event.textBlobs = SkijaInstrumentation.getCount(Counter.TEXT_BLOBS);
+			event.transferredBytes = SkijaInstrumentation.getCount(Counter.TRANSFERRED_BYTES);
+			event.commit();
+		});
+		registered = true;
+	}
+
+	static void emitTiming(Phase phase, Class<?> type, long nanos) {
+		TimingEvent event = new TimingEvent();
+		if (event.isEnabled()) {
+			event.phase = phase.name();
+			event.controlClass = type;
+			event.duration = nanos;
+			event.commit();
+		}
+	}
+}
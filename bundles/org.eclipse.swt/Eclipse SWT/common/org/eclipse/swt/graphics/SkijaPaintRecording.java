@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+import org.eclipse.swt.internal.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * The recorded paint of a control. The drawing operations of a paint are
+ * recorded into a Skia picture, which is replayed by the following paints as
+ * long as the state version of the control, its size and the zoom do not
+ * change. Exposes caused by moving or uncovering a window thereby do not run
+ * the paint code again.
+ * <p>
+ * Recording is enabled with the system property
+ * <code>org.eclipse.swt.skija.recordPaints</code>, and by the tiled
+ * rasterization of {@link SkijaTiledRasterizer}. Paints are only recorded if
+ * the whole control is painted with a Skija GC, otherwise they are executed
+ * directly.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaPaintRecording {
+
+	public static final boolean ENABLED = Boolean.getBoolean("org.eclipse.swt.skija.recordPaints"); //$NON-NLS-1$
+
+	private static final LongAdder REPLAYS = new LongAdder();
+	private static final LongAdder RECORDINGS = new LongAdder();
+	private static final LongAdder DIRECT_PAINTS = new LongAdder();
+
+	private Picture picture;
+	private long version;
+	private int width;
+	private int height;
+	private int zoom;
+
+	/**
+	 * Paints the control of the given size on the given GC. The recorded picture
+	 * is replayed if it was recorded for the same state version, size and zoom,
+	 * otherwise the given paint operation is executed and recorded.
+	 *
+	 * @param gc      the GC to paint on
+	 * @param width   the width of the control
+	 * @param height  the height of the control
+	 * @param version the state version of the control
+	 * @param paint   the operation that paints the control
+	 */
+	public void paint(GC gc, int width, int height, long version, Consumer<GC> paint) {
+		if (!(gc.innerGC instanceof SkijaGC skijaGC)) {
+			DIRECT_PAINTS.increment();
+			paint.accept(gc);
+			return;
+		}
+
+		int zoom = DPIUtil.getDeviceZoom();
+		if (picture != null && this.version == version && this.width == width && this.height == height
+				&& this.zoom == zoom) {
+			REPLAYS.increment();
+			skijaGC.drawPicture(picture);
+			return;
+		}
+		if (!skijaGC.canRecord()) {
+			// e.g. only a part of the control is repainted
+			DIRECT_PAINTS.increment();
+			paint.accept(gc);
+			return;
+		}
+
+		release();
+		RECORDINGS.increment();
+		skijaGC.beginRecording();
+		try {
+			paint.accept(gc);
+		} finally {
+			picture = skijaGC.endRecording();
+		}
+		this.version = version;
+		this.width = width;
+		this.height = height;
+		this.zoom = zoom;
+		skijaGC.drawPicture(picture);
+	}
+
+	/**
+	 * Returns whether a picture is recorded.
+	 */
+	public boolean isRecorded() {
+		return picture != null;
+	}
+
+	/**
+	 * Releases the recorded picture. The next paint is recorded again.
+	 */
+	public void release() {
+		if (picture != null) {
+			picture.close();
+			picture = null;
+		}
+	}
+
+	/**
+	 * Returns the number of paints which replayed a recorded picture.
+	 */
+	public static long getReplayCount() {
+		return REPLAYS.sum();
+	}
+
+	/**
+	 * Returns the number of paints which were recorded.
+	 */
+	public static long getRecordCount() {
+		return RECORDINGS.sum();
+	}
+
+	/**
+	 * Returns the number of paints which could not be recorded or replayed.
+	 */
+	public static long getDirectPaintCount() {
+		return DIRECT_PAINTS.sum();
+	}
+
+	public static void resetCounters() {
+		REPLAYS.reset();
+		RECORDINGS.reset();
+		DIRECT_PAINTS.reset();
+	}
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import io.github.humbleui.skija.paragraph.*;
+
+/**
+ * Shapes the paragraphs of text layouts on background threads before they are
+ * needed, e.g. for the lines just outside the visible area of a
+ * <code>StyledText</code>. The input of the shaping is resolved on the UI
+ * thread when a layout is prefetched. All Skia objects of a shaping belong to
+ * the worker thread, and the finished paragraph is handed over to
+ * the layout when it computes its runs. A layout whose shaping has not been
+ * started yet, or whose text or styles were changed in the meantime, is shaped
+ * synchronously as before.
+ * <p>
+ * The background shaping is disabled with the system property
+ * <code>org.eclipse.swt.skija.disableBackgroundShaping</code>. The number of
+ * threads is set with <code>org.eclipse.swt.skija.shapingThreads</code>, which
+ * defaults to half the number of processors.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaParagraphShaper {
+
+	public static final boolean ENABLED = !Boolean.getBoolean("org.eclipse.swt.skija.disableBackgroundShaping"); //$NON-NLS-1$
+
+	private static final LongAdder SUBMITTED = new LongAdder();
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+
+	private static ExecutorService executor;
+
+	private SkijaParagraphShaper() {
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			int threads = Integer.getInteger("org.eclipse.swt.skija.shapingThreads", //$NON-NLS-1$
+					Runtime.getRuntime().availableProcessors() / 2);
+			AtomicInteger index = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+				Thread thread = new Thread(runnable, "SWT Skija Shaper " + index.getAndIncrement()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Starts the shaping of the paragraph of the given layout on a background
+	 * thread, unless the layout is already shaped or its shaping is pending. This
+	 * method must be called from the thread of the layout's device.
+	 *
+	 * @param layout the layout to shape
+	 */
+	public static void prefetch(TextLayout layout) {
+		if (ENABLED && layout != null && !layout.isDisposed()) {
+			layout.prefetchRuns();
+		}
+	}
+
+	static Task submit(TextLayout.ParagraphInput input) {
+		Task task = new Task(input);
+		getExecutor().execute(task);
+		SUBMITTED.increment();
+		return task;
+	}
+
+	/**
+	 * The shaping of one paragraph. The paragraph is owned by the worker thread
+	 * until it is taken, and closed if the task was discarded in the meantime.
+	 */
+	static final class Task implements Runnable {
+
+		private static final int QUEUED = 0, RUNNING = 1, DONE = 2, DISCARDED = 3;
+
+		private final TextLayout.ParagraphInput input;
+		private int state = QUEUED;
+		private Paragraph paragraph;
+
+		Task(TextLayout.ParagraphInput input) {
+			this.input = input;
+		}
+
+		TextLayout.ParagraphInput getInput() {
+			return input;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (state != QUEUED) {
+					return;
+				}
+				state = RUNNING;
+			}
+			Paragraph paragraph = null;
+			try {
+				paragraph = input.shape();
+			} finally {
+				synchronized (this) {
+					if (state == DISCARDED) {
+						if (paragraph != null) {
+							paragraph.close();
+						}
+					} else {
+						this.paragraph = paragraph;
+						state = DONE;
+					}
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * Returns the shaped paragraph, waiting for a running shaping to finish.
+		 * Returns <code>null</code> if the shaping has not been started yet,
+		 * then the task is discarded and the caller shapes the paragraph itself.
+		 */
+		synchronized Paragraph take() {
+			boolean interrupted = false;
+			while (state == RUNNING) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			Paragraph paragraph = this.paragraph;
+			this.paragraph = null;
+			state = DISCARDED;
+			if (paragraph == null) {
+				MISSES.increment();
+			} else {
+				HITS.increment();
+			}
+			return paragraph;
+		}
+
+		/**
+		 * Discards the task, a paragraph which is shaped in the meantime is
+		 * closed by the worker thread.
+		 */
+		synchronized void discard() {
+			if (paragraph != null) {
+				paragraph.close();
+				paragraph = null;
+			}
+			state = DISCARDED;
+		}
+	}
+
+	/**
+	 * Returns the number of paragraphs which were submitted for shaping.
+	 */
+	public static long getSubmittedCount() {
+		return SUBMITTED.sum();
+	}
+
+	/**
+	 * Returns the number of paragraphs which were shaped in the background when
+	 * they were needed.
+	 */
+	public static long getHitCount() {
+		return HITS.sum();
+	}
+
+	/**
+	 * Returns the number of prefetched paragraphs which were shaped synchronously
+	 * because their shaping had not been started yet when they were needed.
+	 */
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+
+	public static void resetCounters() {
+		SUBMITTED.reset();
+		HITS.reset();
+		MISSES.reset();
+	}
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+import org.eclipse.swt.widgets.*;
+
+import io.github.humbleui.skija.*;
+import io.github.humbleui.skija.paragraph.*;
+
+/**
+ * Caches the Skia objects from which the paragraphs of text layouts are built:
+ * the font collection, which keeps the typefaces of the looked up font
+ * families and the shaping results of recent paragraphs, the paragraph style,
+ * and the text styles, which are interned by their resolved family, color,
+ * font style and size. The least recently used text styles are closed once
+ * their number exceeds the limit, which can be configured with the system
+ * property <code>org.eclipse.swt.skija.paragraphStyleCacheSize</code>.
+ * <p>
+ * As paragraphs are also shaped on background threads, see
+ * {@link SkijaParagraphShaper}, and these objects must not be used by several
+ * threads at once, each thread which shapes gets its own set of objects. The
+ * objects of a thread are closed once the thread has terminated, when the next
+ * thread needs a set of its own.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaParagraphStyleCache {
+
+	static final int DEFAULT_MAX_STYLES = Integer.getInteger("org.eclipse.swt.skija.paragraphStyleCacheSize", 256); //$NON-NLS-1$
+
+	private static final Map<Device, SkijaParagraphStyleCache> CACHES = new ConcurrentHashMap<>();
+
+	private record StyleKey(String family, int foreground, int fontStyle, float fontSize) {
+	}
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private final Map<Thread, Styles> styles = new ConcurrentHashMap<>();
+	private volatile int maxStyles = DEFAULT_MAX_STYLES;
+	private volatile boolean closed;
+
+	/**
+	 * The Skia objects of one thread. They are only used while the lock of the
+	 * instance is held, so that they can be closed from another thread.
+	 */
+	final class Styles {
+		private final FontCollection fontCollection = new FontCollection();
+		private final ParagraphStyle paragraphStyle = new ParagraphStyle();
+		private final LinkedHashMap<StyleKey, io.github.humbleui.skija.paragraph.TextStyle> textStyles = new LinkedHashMap<>(
+				64, 0.75f, true);
+		private boolean closed;
+
+		Styles() {
+			fontCollection.setDefaultFontManager(FontMgr.getDefault());
+			paragraphStyle.setAlignment(Alignment.LEFT);
+		}
+
+		FontCollection getFontCollection() {
+			return fontCollection;
+		}
+
+		ParagraphStyle getParagraphStyle() {
+			return paragraphStyle;
+		}
+
+		/**
+		 * Returns the text style for the given values, which is owned by the cache
+		 * and must not be changed or closed. A <code>null</code> font style keeps
+		 * the default style of the paragraph.
+		 */
+		io.github.humbleui.skija.paragraph.TextStyle getTextStyle(String family, int foreground,
+				FontStyle fontStyle, float fontSize) {
+			StyleKey key = new StyleKey(family, foreground, fontStyle != null ? fontStyle._value : -1, fontSize);
+			io.github.humbleui.skija.paragraph.TextStyle style = textStyles.get(key);
+			if (style != null) {
+				hits.increment();
+				return style;
+			}
+			misses.increment();
+			style = new io.github.humbleui.skija.paragraph.TextStyle().setFontSize(fontSize)
+					.setFontFamilies(new String[] { family });
+			if (fontStyle != null) {
+				style.setFontStyle(fontStyle);
+			}
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+			// the style keeps a copy of the paint
+			try (Paint paint = new Paint()) {
+				style.setForeground(paint.setColor(foreground));
+			}
+			textStyles.put(key, style);
+			evict();
+			return style;
+		}
+
+		private void evict() {
+			Iterator<io.github.humbleui.skija.paragraph.TextStyle> iterator = textStyles.values().iterator();
+			// keep at least the most recent style, it is still in use by the caller
+			while (textStyles.size() > maxStyles && textStyles.size() > 1) {
+				io.github.humbleui.skija.paragraph.TextStyle eldest = iterator.next();
+				iterator.remove();
+				eldest.close();
+				evictions.increment();
+			}
+		}
+
+		void close() {
+			closed = true;
+			textStyles.values().forEach(io.github.humbleui.skija.paragraph.TextStyle::close);
+			textStyles.clear();
+			paragraphStyle.close();
+			fontCollection.close();
+		}
+	}
+
+	private SkijaParagraphStyleCache() {
+	}
+
+	/**
+	 * Returns the paragraph style cache of the given device. The cache of a
+	 * display is cleared when the display is disposed.
+	 */
+	public static SkijaParagraphStyleCache getCache(Device device) {
+		SkijaParagraphStyleCache cache = CACHES.get(device);
+		if (cache == null) {
+			cache = new SkijaParagraphStyleCache();
+			SkijaParagraphStyleCache existing = CACHES.putIfAbsent(device, cache);
+			if (existing != null) {
+				return existing;
+			}
+			if (device instanceof Display display) {
+				SkijaParagraphStyleCache created = cache;
+				SkijaDeviceDefaults.disposeExec(display, () -> {
+					CACHES.remove(display);
+					created.closed = true;
+					created.clear();
+				});
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Builds a paragraph with the styles of the current thread. A paragraph which
+	 * is built after the display was disposed gets styles of its own.
+	 */
+	<T> T build(Function<Styles, T> builder) {
+		while (true) {
+			Thread thread = Thread.currentThread();
+			Styles styles = this.styles.get(thread);
+			if (styles == null) {
+				// threads are rarely added, so this is a good time to drop terminated ones
+				removeTerminatedThreads();
+				styles = this.styles.computeIfAbsent(thread, t -> new Styles());
+			}
+			synchronized (styles) {
+				if (styles.closed) {
+					// cleared in the meantime
+					continue;
+				}
+				try {
+					return builder.apply(styles);
+				} finally {
+					if (closed) {
+						this.styles.remove(Thread.currentThread(), styles);
+						styles.close();
+					}
+				}
+			}
+		}
+	}
+
+	private void removeTerminatedThreads() {
+		for (Iterator<Map.Entry<Thread, Styles>> iterator = styles.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<Thread, Styles> entry = iterator.next();
+			if (!entry.getKey().isAlive()) {
+				iterator.remove();
+				synchronized (entry.getValue()) {
+					entry.getValue().close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of threads which hold styles of their own.
+	 */
+	public int getThreadCount() {
+		return styles.size();
+	}
+
+	/**
+	 * Closes the styles of all threads. Paragraphs which were built with them
+	 * stay valid.
+	 */
+	public void clear() {
+		for (Iterator<Styles> iterator = styles.values().iterator(); iterator.hasNext();) {
+			Styles threadStyles = iterator.next();
+			iterator.remove();
+			synchronized (threadStyles) {
+				threadStyles.close();
+			}
+		}
+	}
+
+	public int getMaxStyles() {
+		return maxStyles;
+	}
+
+	/**
+	 * Sets the maximum number of cached text styles per thread. It takes effect
+	 * when the next style is added.
+	 */
+	public void setMaxStyles(int maxStyles) {
+		this.maxStyles = maxStyles;
+	}
+
+	/**
+	 * Returns the number of text styles held by the cache for all threads.
+	 */
+	public int getStyleCount() {
+		int count = 0;
+		for (Styles threadStyles : styles.values()) {
+			synchronized (threadStyles) {
+				count += threadStyles.textStyles.size();
+			}
+		}
+		return count;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public void resetCounters() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+}
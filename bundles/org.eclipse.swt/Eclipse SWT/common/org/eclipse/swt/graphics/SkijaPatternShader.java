@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * The Skia shaders of a {@link Pattern}, one per zoom. The shaders are created
+ * on first use, shared by all GCs and released when the pattern is disposed.
+ * The shader of an image pattern is created again after the image was drawn
+ * on.
+ */
+final class SkijaPatternShader {
+
+	private static final GradientStyle REPEAT = new GradientStyle(FilterTileMode.REPEAT, true, null);
+
+	private final Image image;
+	private final float x1, y1, x2, y2;
+	private final int argb1, argb2;
+
+	private final Map<Integer, Shader> shaders = new HashMap<>();
+	// the converted images the image shaders were created from
+	private final Map<Integer, io.github.humbleui.skija.Image> shaderImages = new HashMap<>();
+
+	private SkijaPatternShader(Image image, float x1, float y1, float x2, float y2, int argb1, int argb2) {
+		this.image = image;
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		this.argb1 = argb1;
+		this.argb2 = argb2;
+	}
+
+	static SkijaPatternShader forImage(Image image) {
+		return new SkijaPatternShader(image, 0, 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * The colors are validated by the pattern. Their values are copied, as the
+	 * colors may be disposed while the pattern is still in use.
+	 */
+	static SkijaPatternShader forGradient(float x1, float y1, float x2, float y2, Color color1, int alpha1,
+			Color color2, int alpha2) {
+		return new SkijaPatternShader(null, x1, y1, x2, y2, toArgb(color1, alpha1), toArgb(color2, alpha2));
+	}
+
+	private static int toArgb(Color color, int alpha) {
+		return (alpha & 0xFF) << 24 | color.getRed() << 16 | color.getGreen() << 8 | color.getBlue();
+	}
+
+	/**
+	 * Returns the shader for the given zoom. The shader is owned by the pattern
+	 * and must not be closed.
+	 */
+	synchronized Shader getShader(int zoom) {
+		if (image != null) {
+			if (image.isDisposed()) {
+				return null;
+			}
+			io.github.humbleui.skija.Image skijaImage = SkijaImageCache.getCache(image.device).get(image, zoom);
+			if (shaderImages.get(zoom) != skijaImage) {
+				// first use or the image changed since the shader was created
+				close(shaders.remove(zoom));
+				shaders.put(zoom, skijaImage.makeShader(FilterTileMode.REPEAT, FilterTileMode.REPEAT, null));
+				shaderImages.put(zoom, skijaImage);
+			}
+			return shaders.get(zoom);
+		}
+		Shader shader = shaders.get(zoom);
+		if (shader == null) {
+			float scale = zoom / 100f;
+			shader = Shader.makeLinearGradient(x1 * scale, y1 * scale, x2 * scale, y2 * scale,
+					new int[] { argb1, argb2 }, null, REPEAT);
+			shaders.put(zoom, shader);
+		}
+		return shader;
+	}
+
+	private static void close(Shader shader) {
+		if (shader != null) {
+			shader.close();
+		}
+	}
+
+	synchronized void dispose() {
+		shaders.values().forEach(SkijaPatternShader::close);
+		shaders.clear();
+		shaderImages.clear();
+	}
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * Converts pixels between SWT {@link ImageData} and Skia images. The
+ * conversion works on whole rows and has specialized kernels for byte aligned
+ * direct layouts and 8-bit indexed images, the other layouts are read row by
+ * row via {@link ImageData#getPixels(int, int, int, int[], int)}.
+ */
+final class SkijaPixelConverter {
+
+	private SkijaPixelConverter() {
+	}
+
+	/**
+	 * Creates a Skia image from the given image data. 32-bit RGBA and BGRA data
+	 * without transparency information is handed to Skia as is, everything else
+	 * is converted to unpremultiplied RGBA first.
+	 */
+	static io.github.humbleui.skija.Image toSkijaImage(ImageData imageData) {
+		ColorType colorType = getDirectColorType(imageData);
+		if (colorType != null) {
+			ImageInfo imageInfo = new ImageInfo(imageData.width, imageData.height, colorType,
+					ColorAlphaType.UNPREMUL);
+			return io.github.humbleui.skija.Image.makeRasterFromBytes(imageInfo, imageData.data,
+					imageData.bytesPerLine);
+		}
+		ImageInfo imageInfo = new ImageInfo(imageData.width, imageData.height, ColorType.RGBA_8888,
+				ColorAlphaType.UNPREMUL);
+		return io.github.humbleui.skija.Image.makeRasterFromBytes(imageInfo, toRGBA(imageData),
+				imageData.width * 4);
+	}
+
+	/**
+	 * Returns the Skia color type matching the memory layout of the given data, or
+	 * <code>null</code> if the data has to be converted.
+	 */
+	private static ColorType getDirectColorType(ImageData imageData) {
+		PaletteData palette = imageData.palette;
+		if (!palette.isDirect || imageData.depth != 32 || imageData.alphaData != null || imageData.alpha != -1
+				|| imageData.getTransparencyType() != SWT.TRANSPARENCY_NONE) {
+			return null;
+		}
+		if (palette.redMask == 0xFF000000 && palette.greenMask == 0x00FF0000 && palette.blueMask == 0x0000FF00) {
+			return ColorType.RGBA_8888;
+		}
+		if (palette.redMask == 0x0000FF00 && palette.greenMask == 0x00FF0000 && palette.blueMask == 0xFF000000) {
+			return ColorType.BGRA_8888;
+		}
+		return null;
+	}
+
+	/**
+	 * Converts the given image data to unpremultiplied RGBA bytes without row
+	 * padding. The alpha is taken from the global alpha, the alpha data, the
+	 * mask or the transparent pixel of the image data.
+	 */
+	static byte[] toRGBA(ImageData imageData) {
+		int width = imageData.width;
+		int height = imageData.height;
+		byte[] rgba = new byte[width * height * 4];
+		if (imageData.palette.isDirect) {
+			convertDirect(imageData, rgba);
+		} else {
+			convertIndexed(imageData, rgba);
+		}
+		applyAlpha(imageData, rgba);
+		return rgba;
+	}
+
+	private static void convertDirect(ImageData imageData, byte[] rgba) {
+		PaletteData palette = imageData.palette;
+		int bytesPerPixel = imageData.depth / 8;
+		int redOffset = getByteOffset(palette.redMask, imageData.depth);
+		int greenOffset = getByteOffset(palette.greenMask, imageData.depth);
+		int blueOffset = getByteOffset(palette.blueMask, imageData.depth);
+		if (redOffset >= 0 && greenOffset >= 0 && blueOffset >= 0) {
+			byte[] data = imageData.data;
+			for (int y = 0; y < imageData.height; y++) {
+				int source = y * imageData.bytesPerLine;
+				int target = y * imageData.width * 4;
+				for (int x = 0; x < imageData.width; x++) {
+					rgba[target] = data[source + redOffset];
+					rgba[target + 1] = data[source + greenOffset];
+					rgba[target + 2] = data[source + blueOffset];
+					rgba[target + 3] = (byte) 0xFF;
+					source += bytesPerPixel;
+					target += 4;
+				}
+			}
+			return;
+		}
+
+		int[] pixels = new int[imageData.width];
+		for (int y = 0; y < imageData.height; y++) {
+			imageData.getPixels(0, y, imageData.width, pixels, 0);
+			int target = y * imageData.width * 4;
+			for (int x = 0; x < imageData.width; x++) {
+				int pixel = pixels[x];
+				rgba[target] = (byte) shift(pixel & palette.redMask, palette.redShift);
+				rgba[target + 1] = (byte) shift(pixel & palette.greenMask, palette.greenShift);
+				rgba[target + 2] = (byte) shift(pixel & palette.blueMask, palette.blueShift);
+				rgba[target + 3] = (byte) 0xFF;
+				target += 4;
+			}
+		}
+	}
+
+	private static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+
+	/**
+	 * Returns the offset of the byte holding the given mask within a pixel, as
+	 * read by {@link ImageData#getPixel(int, int)}, or -1 if the mask does not
+	 * cover exactly one byte.
+	 */
+	private static int getByteOffset(int mask, int depth) {
+		if (depth != 24 && depth != 32) {
+			return -1;
+		}
+		int shift = Integer.numberOfTrailingZeros(mask);
+		if (shift % 8 != 0 || mask >>> shift != 0xFF) {
+			return -1;
+		}
+		return depth / 8 - 1 - shift / 8;
+	}
+
+	private static void convertIndexed(ImageData imageData, byte[] rgba) {
+		RGB[] colors = imageData.palette.colors;
+		byte[] lookup = new byte[256 * 3];
+		for (int i = 0; i < Math.min(colors.length, 256); i++) {
+			lookup[i * 3] = (byte) colors[i].red;
+			lookup[i * 3 + 1] = (byte) colors[i].green;
+			lookup[i * 3 + 2] = (byte) colors[i].blue;
+		}
+
+		// 8-bit indices are read in place, smaller depths are unpacked row by row
+		boolean bytePerPixel = imageData.depth == 8;
+		byte[] pixels = bytePerPixel ? imageData.data : new byte[imageData.width];
+		for (int y = 0; y < imageData.height; y++) {
+			int source = 0;
+			if (bytePerPixel) {
+				source = y * imageData.bytesPerLine;
+			} else {
+				imageData.getPixels(0, y, imageData.width, pixels, 0);
+			}
+			int target = y * imageData.width * 4;
+			for (int x = 0; x < imageData.width; x++) {
+				int index = (pixels[source + x] & 0xFF) * 3;
+				rgba[target] = lookup[index];
+				rgba[target + 1] = lookup[index + 1];
+				rgba[target + 2] = lookup[index + 2];
+				rgba[target + 3] = (byte) 0xFF;
+				target += 4;
+			}
+		}
+	}
+
+	private static void applyAlpha(ImageData imageData, byte[] rgba) {
+		int width = imageData.width;
+		int height = imageData.height;
+		if (imageData.alpha != -1) {
+			byte alpha = (byte) imageData.alpha;
+			for (int i = 3; i < rgba.length; i += 4) {
+				rgba[i] = alpha;
+			}
+			return;
+		}
+
+		switch (imageData.getTransparencyType()) {
+		case SWT.TRANSPARENCY_ALPHA -> {
+			byte[] alphaData = imageData.alphaData;
+			int count = Math.min(alphaData.length, width * height);
+			for (int i = 0; i < count; i++) {
+				rgba[i * 4 + 3] = alphaData[i];
+			}
+		}
+		case SWT.TRANSPARENCY_MASK -> {
+			ImageData mask = imageData.getTransparencyMask();
+			byte[] maskRow = new byte[width];
+			for (int y = 0; y < height; y++) {
+				mask.getPixels(0, y, width, maskRow, 0);
+				int target = y * width * 4 + 3;
+				for (int x = 0; x < width; x++) {
+					if (maskRow[x] == 0) {
+						rgba[target] = 0;
+					}
+					target += 4;
+				}
+			}
+		}
+		case SWT.TRANSPARENCY_PIXEL -> {
+			int transparentPixel = imageData.transparentPixel;
+			int[] pixels = new int[width];
+			for (int y = 0; y < height; y++) {
+				imageData.getPixels(0, y, width, pixels, 0);
+				int target = y * width * 4 + 3;
+				for (int x = 0; x < width; x++) {
+					if (pixels[x] == transparentPixel) {
+						rgba[target] = 0;
+					}
+					target += 4;
+				}
+			}
+		}
+		default -> {
+			// opaque
+		}
+		}
+	}
+
+	/**
+	 * Reads back the given Skia image as 24-bit image data with alpha data.
+	 */
+	static ImageData toImageData(io.github.humbleui.skija.Image image) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		byte[] rgba;
+		try (Bitmap bitmap = Bitmap.makeFromImage(image)) {
+			rgba = bitmap.readPixels(new ImageInfo(width, height, ColorType.RGBA_8888, ColorAlphaType.UNPREMUL),
+					width * 4L, 0, 0);
+		}
+		byte[] rgb = new byte[width * height * 3];
+		byte[] alphas = new byte[width * height];
+		if (rgba != null) {
+			for (int i = 0, source = 0, target = 0; i < alphas.length; i++) {
+				rgb[target] = rgba[source];
+				rgb[target + 1] = rgba[source + 1];
+				rgb[target + 2] = rgba[source + 2];
+				alphas[i] = rgba[source + 3];
+				source += 4;
+				target += 3;
+			}
+		}
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF), 1,
+				rgb);
+		imageData.alphaData = alphas;
+		return imageData;
+	}
+}
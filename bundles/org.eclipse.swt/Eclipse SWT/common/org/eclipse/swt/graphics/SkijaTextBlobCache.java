@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.*;
+
+import io.github.humbleui.skija.*;
+import io.github.humbleui.skija.Font;
+
+/**
+ * Caches the text blobs drawn by {@link SkijaGC}, so that strings which are
+ * painted again and again, like labels and table cells, are only shaped once.
+ * The least recently used blobs are dropped once the number of entries exceeds
+ * the limit, which can be configured with the system property
+ * <code>org.eclipse.swt.skija.textBlobCacheSize</code>. The advances of single
+ * characters are cached per font as well, they are used to expand tabs.
+ * <p>
+ * The cache may be used by several threads. As a blob can still be drawn by
+ * one thread after another thread has dropped it from the cache, dropped blobs
+ * are not closed. They are released by the garbage collector once they are no
+ * longer drawn.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaTextBlobCache {
+
+	static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("org.eclipse.swt.skija.textBlobCacheSize", 2048); //$NON-NLS-1$
+
+	private static final int SHAPING_FLAGS = SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_MNEMONIC;
+
+	private static final SkijaTextBlobCache INSTANCE = new SkijaTextBlobCache();
+
+	/**
+	 * A shaped text. The blob is <code>null</code> for texts without glyphs.
+	 */
+	record Entry(TextBlob blob, float width) {
+	}
+
+	private record Key(Font font, String text, int flags) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && other.font == font && other.flags == flags && other.text.equals(text);
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(font) * 31 + text.hashCode()) * 31 + flags;
+		}
+	}
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+	// keyed by identity, a Skia font hashes and compares by its native object
+	private final Map<Font, float[]> latinAdvances = new IdentityHashMap<>();
+	private final Map<Font, Map<Character, Float>> otherAdvances = new IdentityHashMap<>();
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+	private long hits;
+	private long misses;
+
+	private SkijaTextBlobCache() {
+	}
+
+	public static SkijaTextBlobCache getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the shaped text for the given font and text, creating it with the
+	 * given function if it is not cached yet. The blob is owned by the cache and
+	 * must not be closed.
+	 */
+	synchronized Entry get(Font font, String text, int flags, Function<String, TextBlob> shaper) {
+		Key key = new Key(font, text, flags & SHAPING_FLAGS);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits++;
+			return entry;
+		}
+		misses++;
+		TextBlob blob = shaper.apply(text);
+		entry = new Entry(blob, blob != null ? blob.getBounds().getWidth() : 0);
+		entries.put(key, entry);
+		evict();
+		return entry;
+	}
+
+	private void evict() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		// keep at least the most recent entry, it is still in use by the caller
+		while (entries.size() > maxEntries && entries.size() > 1) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the advance of the given character in pixels. The font has to be
+	 * owned by a {@link SkijaFontCache}, which drops its advances when it drops
+	 * the font.
+	 */
+	synchronized float getAdvance(Font font, char ch) {
+		if (ch < 256) {
+			float[] advances = latinAdvances.computeIfAbsent(font, f -> {
+				float[] array = new float[256];
+				Arrays.fill(array, -1);
+				return array;
+			});
+			if (advances[ch] < 0) {
+				advances[ch] = font.measureTextWidth(String.valueOf(ch));
+			}
+			return advances[ch];
+		}
+		return otherAdvances.computeIfAbsent(font, f -> new HashMap<>()).computeIfAbsent(ch,
+				c -> font.measureTextWidth(String.valueOf(c)));
+	}
+
+	/**
+	 * Drops the advances of the given font, which was dropped by its font cache.
+	 */
+	synchronized void removeAdvances(Font font) {
+		latinAdvances.remove(font);
+		otherAdvances.remove(font);
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		latinAdvances.clear();
+		otherAdvances.clear();
+	}
+
+	public synchronized int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Sets the maximum number of cached text blobs.
+	 */
+	public synchronized void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		evict();
+	}
+
+	public synchronized int getEntryCount() {
+		return entries.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the share of lookups that were answered from the cache, between 0
+	 * and 1.
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public synchronized void resetCounters() {
+		hits = 0;
+		misses = 0;
+	}
+}
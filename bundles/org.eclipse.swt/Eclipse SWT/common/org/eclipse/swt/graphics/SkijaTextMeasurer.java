@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * Measures texts without a GC. The extents are computed from the Skia fonts
+ * exactly as {@link SkijaGC#textExtent(String, int)} does, so layout code can
+ * measure texts without allocating a native GC and a surface. The service is
+ * scoped to a display and may be used from any thread. The widths of the most
+ * recently measured strings are cached per font and zoom.
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaTextMeasurer {
+
+	static final int MAX_WIDTHS_PER_FONT = 1024;
+
+	private static final Map<Device, SkijaTextMeasurer> MEASURERS = new ConcurrentHashMap<>();
+
+	private record Key(Font font, int zoom) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && other.font == font && other.zoom == zoom;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(font) * 31 + zoom;
+		}
+	}
+
+	/**
+	 * The Skia font of an SWT font at one zoom together with its metrics and the
+	 * widths of the recently measured strings. The font is owned by the entry,
+	 * so that it is not closed by the font cache while it is measuring.
+	 */
+	private static final class FontEntry {
+		final io.github.humbleui.skija.Font skijaFont;
+		final io.github.humbleui.skija.FontMetrics metrics;
+		private final LinkedHashMap<String, Float> widths = new LinkedHashMap<>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Float> eldest) {
+				return size() > MAX_WIDTHS_PER_FONT;
+			}
+		};
+
+		FontEntry(io.github.humbleui.skija.Font skijaFont) {
+			this.skijaFont = skijaFont;
+			this.metrics = skijaFont.getMetrics();
+		}
+
+		/**
+		 * Returns the width of the given text, or -1 if the entry was closed in
+		 * the meantime.
+		 */
+		synchronized float getWidth(String text, SkijaTextMeasurer measurer) {
+			if (skijaFont.isClosed()) {
+				return -1;
+			}
+			Float width = widths.get(text);
+			if (width != null) {
+				measurer.hits.increment();
+				return width;
+			}
+			measurer.misses.increment();
+			float measured = skijaFont.measureTextWidth(text);
+			widths.put(text, measured);
+			return measured;
+		}
+
+		synchronized void close() {
+			skijaFont.close();
+			widths.clear();
+		}
+	}
+
+	private final Map<Key, FontEntry> fonts = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	private SkijaTextMeasurer() {
+	}
+
+	/**
+	 * Returns the measurer of the given device. The measurer of a display is
+	 * cleared when the display is disposed.
+	 */
+	public static SkijaTextMeasurer getMeasurer(Device device) {
+		SkijaTextMeasurer measurer = MEASURERS.get(device);
+		if (measurer == null) {
+			measurer = new SkijaTextMeasurer();
+			SkijaTextMeasurer existing = MEASURERS.putIfAbsent(device, measurer);
+			if (existing != null) {
+				return existing;
+			}
+			if (device instanceof Display display) {
+				SkijaTextMeasurer created = measurer;
+				SkijaDeviceDefaults.disposeExec(display, () -> {
+					MEASURERS.remove(display);
+					created.clear();
+				});
+			}
+		}
+		return measurer;
+	}
+
+	private FontEntry getFontEntry(Font font) {
+		if (font == null || font.isDisposed()) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		// the zoom the fonts of a Skija GC are created at
+		Key key = new Key(font, DPIUtil.getNativeDeviceZoom());
+		FontEntry entry = fonts.get(key);
+		if (entry == null) {
+			// fonts are rarely created, so this is a good time to drop disposed ones
+			for (Iterator<Map.Entry<Key, FontEntry>> iterator = fonts.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<Key, FontEntry> disposed = iterator.next();
+				if (disposed.getKey().font.isDisposed()) {
+					iterator.remove();
+					disposed.getValue().close();
+				}
+			}
+			entry = fonts.computeIfAbsent(key, k -> new FontEntry(SkijaFontCache.getCache(font.getDevice())
+					.createFont(font.getFontData()[0], k.zoom())));
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the extent of the given string in the given font, as
+	 * {@link GC#textExtent(String, int)} of a Skija GC would return it.
+	 *
+	 * @param font   the font to measure with
+	 * @param string the string to measure
+	 * @param flags  the flags specifying how to process the text
+	 * @return a point containing the extent of the string
+	 */
+	public Point textExtent(Font font, String string, int flags) {
+		if (string == null) {
+			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		}
+		String text = SkijaGC.replaceMnemonics(string);
+		FontEntry entry;
+		float width;
+		do {
+			// the entry may be closed by a concurrent clear
+			entry = getFontEntry(font);
+			width = entry.getWidth(text, this);
+		} while (width < 0);
+		return new Point(DPIUtil.autoScaleDownToInt(width), DPIUtil.autoScaleDownToInt(entry.metrics.getHeight()));
+	}
+
+	/**
+	 * Returns the extent of the given string in the given font, as
+	 * {@link GC#stringExtent(String)} of a Skija GC would return it.
+	 *
+	 * @param font   the font to measure with
+	 * @param string the string to measure
+	 * @return a point containing the extent of the string
+	 */
+	public Point stringExtent(Font font, String string) {
+		return textExtent(font, string, SWT.NONE);
+	}
+
+	/**
+	 * Returns the metrics of the given font, as {@link GC#getFontMetrics()} of a
+	 * Skija GC with the font set would return them.
+	 *
+	 * @param font the font
+	 * @return the font metrics
+	 */
+	public FontMetrics getFontMetrics(Font font) {
+		FontMetrics fontMetrics = new FontMetrics();
+		fontMetrics.innerFontMetrics = new SkijaFontMetrics(getFontEntry(font).metrics);
+		return fontMetrics;
+	}
+
+	/**
+	 * Drops all cached fonts and widths.
+	 */
+	public void clear() {
+		for (Iterator<FontEntry> iterator = fonts.values().iterator(); iterator.hasNext();) {
+			FontEntry entry = iterator.next();
+			iterator.remove();
+			entry.close();
+		}
+	}
+
+	public int getFontCount() {
+		return fonts.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public void resetCounters() {
+		hits.reset();
+		misses.reset();
+	}
+}
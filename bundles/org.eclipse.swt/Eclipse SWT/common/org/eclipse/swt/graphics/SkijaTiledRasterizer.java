@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.eclipse.swt.*;
+
+import io.github.humbleui.skija.*;
+import io.github.humbleui.skija.Canvas;
+import io.github.humbleui.types.*;
+
+/**
+ * Rasterizes the recorded paints of large controls in tiles on several
+ * threads. The visible part of a picture is split into square tiles of the
+ * target surface, which are rasterized in parallel into raster surfaces of
+ * their own and then copied into the target surface in a fixed order on the
+ * calling thread. Each tile starts with the pixels of the target surface below
+ * it and draws the picture with the matrix of the target canvas, so the
+ * picture blends with the same opaque content and uses the same anti-aliasing
+ * as when it is drawn directly, and the output does not depend on the number
+ * of threads or on their scheduling.
+ * <p>
+ * The tiled rasterization is enabled with the system property
+ * <code>org.eclipse.swt.skija.tiledRaster</code> or with
+ * {@link #setEnabled(boolean)}, which also enables the recording of paints of
+ * controls created afterwards, see {@link SkijaPaintRecording}. The tile size in
+ * pixels is set with <code>org.eclipse.swt.skija.tileSize</code> and the number
+ * of threads with <code>org.eclipse.swt.skija.tileThreads</code>, which
+ * defaults to the number of processors.
+ * </p>
+ * <p>
+ * Temporary API.
+ * </p>
+ *
+ * @noreference this is still experimental API and might be removed
+ */
+public final class SkijaTiledRasterizer {
+
+	static final int DEFAULT_TILE_SIZE = Integer.getInteger("org.eclipse.swt.skija.tileSize", 256); //$NON-NLS-1$
+
+	private static final int MIN_TILE_SIZE = 16;
+
+	private static final LongAdder PICTURES = new LongAdder();
+	private static final LongAdder TILES = new LongAdder();
+
+	private static volatile boolean enabled = Boolean.getBoolean("org.eclipse.swt.skija.tiledRaster"); //$NON-NLS-1$
+	private static volatile int tileSize = Math.max(MIN_TILE_SIZE, DEFAULT_TILE_SIZE);
+	private static ForkJoinPool pool;
+
+	private SkijaTiledRasterizer() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the tiled rasterization of recorded paints.
+	 */
+	public static void setEnabled(boolean enabled) {
+		SkijaTiledRasterizer.enabled = enabled;
+	}
+
+	public static int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Sets the size of the tiles in pixels.
+	 *
+	 * @exception IllegalArgumentException
+	 *                <ul>
+	 *                <li>ERROR_INVALID_ARGUMENT - if the size is less than 16</li>
+	 *                </ul>
+	 */
+	public static void setTileSize(int tileSize) {
+		if (tileSize < MIN_TILE_SIZE) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		SkijaTiledRasterizer.tileSize = tileSize;
+	}
+
+	private static synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			int threads = Integer.getInteger("org.eclipse.swt.skija.tileThreads", //$NON-NLS-1$
+					Runtime.getRuntime().availableProcessors());
+			pool = new ForkJoinPool(Math.max(1, threads), p -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("SWT Skija Rasterizer " + thread.getPoolIndex()); //$NON-NLS-1$
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+
+	/**
+	 * Draws the given picture onto the target surface in tiles, with the current
+	 * matrix and clip of its canvas. Only the given area of the surface, in
+	 * pixels, is drawn, it must not be within a layer of the canvas.
+	 *
+	 * @return <code>false</code> if the area fits into one tile, then the picture
+	 *         is drawn directly by the caller
+	 */
+	static boolean draw(Surface target, Picture picture, IRect area) {
+		int size = tileSize;
+		if (area == null || area.getWidth() <= size && area.getHeight() <= size) {
+			return false;
+		}
+		// the tiles start with the current pixels of the surface
+		io.github.humbleui.skija.Image background = target.makeImageSnapshot(area);
+		if (background == null) {
+			return false;
+		}
+		Canvas canvas = target.getCanvas();
+		Matrix33 matrix = canvas.getLocalToDeviceAsMatrix33();
+		java.util.List<IRect> tiles = new ArrayList<>();
+		for (int top = area.getTop(); top < area.getBottom(); top += size) {
+			for (int left = area.getLeft(); left < area.getRight(); left += size) {
+				tiles.add(IRect.makeLTRB(left, top, Math.min(left + size, area.getRight()),
+						Math.min(top + size, area.getBottom())));
+			}
+		}
+		ForkJoinPool pool = getPool();
+		java.util.List<ForkJoinTask<Surface>> tasks = new ArrayList<>(tiles.size());
+		for (IRect tile : tiles) {
+			tasks.add(pool.submit(() -> rasterize(picture, matrix, background, area, tile)));
+		}
+		int composited = 0;
+		canvas.save();
+		canvas.resetMatrix();
+		try (Paint paint = new Paint()) {
+			// a tile already holds the pixels below it
+			paint.setBlendMode(BlendMode.SRC);
+			// copied in the order of the tiles, independent of when they are done
+			for (; composited < tasks.size(); composited++) {
+				IRect tile = tiles.get(composited);
+				try (Surface surface = tasks.get(composited).join()) {
+					surface.draw(canvas, tile.getLeft(), tile.getTop(), paint);
+				}
+			}
+		} finally {
+			canvas.restore();
+			// after a failure, the surfaces of the remaining tiles are released
+			for (int i = composited + 1; i < tasks.size(); i++) {
+				try {
+					tasks.get(i).join().close();
+				} catch (RuntimeException e) {
+					// the first failure is already thrown
+				}
+			}
+			background.close();
+		}
+		PICTURES.increment();
+		TILES.add(tiles.size());
+		return true;
+	}
+
+	private static Surface rasterize(Picture picture, Matrix33 matrix, io.github.humbleui.skija.Image background,
+			IRect area, IRect tile) {
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.SURFACES);
+		Surface surface = Surface.makeRaster(ImageInfo.makeN32Premul(tile.getWidth(), tile.getHeight()), 0,
+				new SurfaceProps(PixelGeometry.RGB_H));
+		Canvas canvas = surface.getCanvas();
+		canvas.drawImage(background, area.getLeft() - tile.getLeft(), area.getTop() - tile.getTop());
+		canvas.translate(-tile.getLeft(), -tile.getTop());
+		canvas.concat(matrix);
+		canvas.drawPicture(picture);
+		return surface;
+	}
+
+	/**
+	 * Returns the number of pictures which were drawn in tiles.
+	 */
+	public static long getPictureCount() {
+		return PICTURES.sum();
+	}
+
+	/**
+	 * Returns the number of tiles which were rasterized.
+	 */
+	public static long getTileCount() {
+		return TILES.sum();
+	}
+
+	public static void resetCounters() {
+		PICTURES.reset();
+		TILES.reset();
+	}
+}
@@ -1,7 +1,7 @@
 package org.eclipse.swt.graphics;
 
-import java.io.*;
 import java.util.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
@@ -24,13 +24,7 @@ public final class TextLayout extends Resource {
 	// The innerGC has not the configuration data from the styled text like font
 	// size etc.
 	// the size conversion from SWT Font to Skija Font is not working.
-	private static boolean fastCalculationMode = false;
-
-	final static Set<TextLayout> textLayouts;
-
-	static {
-		textLayouts = new HashSet<>();
-	}
+	private static final boolean fastCalculationMode = false;
 
 	private String text;
 	int lineSpacingInPoints, ascent, descent, indent, wrapIndent,
@@ -60,22 +54,20 @@ public final class TextLayout extends Resource {
 	private StyleItem[] styles;
 	int stylesCount;
 	private Paragraph paragraph;
-	private byte[] imageBytes;
+	private SkijaParagraphShaper.Task shaping;
 
-	private int selectionStart;
-	private int selectionEnd;
-	private Color selectionForeground;
-	private Color selectionBackground;
+	private ParagraphInput paragraphInput;
+	private TextBox[][] backgroundBoxes;
+	private CaretIndex caretIndex;
 	private int textDirection;
 	private Font swtFont;
 	private io.github.humbleui.skija.Font skijaFont;
 
 	int nativeZoom = DPIUtil.getNativeDeviceZoom();
-	private static Surface surface;
 
 	static final char LTR_MARK = '\u200E', RTL_MARK = '\u200F';
 
-	static Color linkForeground;
+	private Color linkForeground;
 
 	static class StyleItem {
 		TextStyle style;
@@ -123,24 +115,7 @@ public final class TextLayout extends Resource {
 	@Override
 	void init() {
 
-		synchronized (textLayouts) {
-			if (surface == null) {
-				Rectangle b = device.getBounds();
-
-				surface = Surface.makeRaster(
-						ImageInfo.makeN32Premul(b.width, b.height), 0,
-						new SurfaceProps(PixelGeometry.RGB_H));
-
-				// DPI Analysis
-				Point dpi = device.getDPI();
-
-			}
-
-			setFont(device.getSystemFont());
-
-			textLayouts.add(this);
-
-		}
+		setFont(SkijaDeviceDefaults.get(device).systemFont);
 
 		super.init();
 
@@ -180,67 +155,32 @@ public final class TextLayout extends Resource {
 		return skijaFont.getSize();
 	}
 
+	/**
+	 * Shapes and lays out the paragraph, unless it is already done. The
+	 * paragraph does not depend on the selection, which is painted over it when
+	 * the layout is drawn, so changing the selection does not shape again.
+	 */
 	void computeRuns(GC gc) {
 
-		computeRuns(gc, this.selectionStart, this.selectionEnd,
-				this.selectionForeground, this.selectionBackground, 0);
-	}
-
-	void computeRuns(GC gc, int selectionStart, int selectionEnd,
-			Color selectionForeground, Color selectionBackground, int flags) {
+		if (paragraph != null)
+			return;
 
-		if (selectionEnd < selectionStart) {
-			selectionEnd = selectionStart;
+		// take a paragraph which was shaped in the background
+		Paragraph shaped = null;
+		ParagraphInput input = null;
+		if (shaping != null) {
+			shaped = shaping.take();
+			input = shaping.getInput();
 		}
 
-		// --------------------------------------------------------------------------------------------
-		// In Skija there are the following methods in Paragraph:
-		//
-		// void updateTextAlign(Alignment alignment); void updateFontSize(int
-		// from, int
-		// to, float size); void updateForegroundPaint(int from, int to, Paint
-		// paint);
-		// void updateBackgroundPaint(int from, int to, Paint paint);
-		//
-		// These can be used for selections. In order to increase the
-		// performance.
-		//
-		// But is seems this feature is not yet fully supported in skia or
-		// skija. This
-		// must be further checked.
-		//
-		// ---------------------------------------------------------------------------------------------
-
-		if (paragraph != null && this.selectionStart == selectionStart
-				&& this.selectionEnd == selectionEnd
-				&& Objects.equals(this.selectionForeground, selectionForeground)
-				&& Objects.equals(this.selectionBackground,
-						selectionBackground))
-			return;
-
 		freeRuns();
-		Canvas canvas = surface.getCanvas();
-		canvas.clear(0x00000000);
-
-		paragraph = createParagraph(selectionStart, selectionEnd,
-				selectionForeground, selectionBackground);
 
-		this.selectionStart = selectionStart;
-		this.selectionEnd = selectionEnd;
-		this.selectionForeground = selectionForeground;
-		this.selectionBackground = selectionBackground;
-
-		int lineWidth = getWidth();
-
-		if (lineWidth < 1) {
-			lineWidth = Integer.MAX_VALUE;
-		} else {
-			lineWidth += 1;
+		if (shaped == null) {
+			input = createParagraphInput();
+			shaped = input.shape();
 		}
-
-		paragraph.layout(lineWidth);
-		paragraph.paint(surface.getCanvas(), 0, 0);
-
+		paragraph = shaped;
+		paragraphInput = input;
 
 		LineMetrics[] lineMetrics = paragraph.getLineMetrics();
 		{
@@ -280,19 +220,6 @@ public final class TextLayout extends Resource {
 				lineBounds[0] = new Rectangle(0, 0, 0, getLineHeight());
 			}
 		}
-
-		Rectangle b = getBounds();
-
-		io.github.humbleui.skija.Image im = surface
-				.makeImageSnapshot(new IRect(0, 0, b.width, b.height));
-
-		if (im == null) {
-			imageBytes = null;
-			return;
-		}
-
-		imageBytes = EncoderPNG.encode(im).getBytes();
-
 	}
 
 	private int getLineHeight() {
@@ -307,17 +234,7 @@ public final class TextLayout extends Resource {
 		styles = null;
 		segments = null;
 		segmentsChars = null;
-		imageBytes = null;
-
-		synchronized (textLayouts) {
-			textLayouts.remove(this);
-
-			if (textLayouts.isEmpty()) {
-				surface.close();
-				surface = null;
-			}
-
-		}
+		linkForeground = null;
 
 		if (paragraph != null) {
 			if (!paragraph.isClosed())
@@ -467,21 +384,185 @@ public final class TextLayout extends Resource {
 			freeRuns();
 		}
 
-		computeRuns(gc, selectionStart, selectionEnd, selectionForeground,
-				selectionBackground, flags);
+		computeRuns(gc);
 		int length = translateOffset(text.length());
 		if (length == 0 && flags == 0)
 			return;
 
-		if (imageBytes != null) {
-			org.eclipse.swt.graphics.Image transferImage = new org.eclipse.swt.graphics.Image(
-					gc.getDevice(), new ByteArrayInputStream(imageBytes));
+		if (paragraph == null)
+			return;
+
+		if (selectionForeground == null)
+			selectionForeground = SkijaDeviceDefaults.get(device).listForeground;
+		if (selectionBackground == null)
+			selectionBackground = SkijaDeviceDefaults.get(device).listBackground;
+
+		TextBox[] selection = getSelectionBoxes(selectionStart, selectionEnd);
+		int selectionFg = SkijaGC.convertSWTColorToSkijaColor(selectionForeground);
+		int selectionBg = SkijaGC.convertSWTColorToSkijaColor(selectionBackground);
+		Consumer<Canvas> painter = canvas -> paint(canvas, selection,
+				selectionFg, selectionBg);
+
+		if (gc.innerGC instanceof SkijaGC skijaGC) {
+			skijaGC.drawParagraph(paragraph, x, y, painter);
+		} else {
+			transferParagraph(gc, x, y, painter);
+		}
+	}
+
+	private TextBox[] getSelectionBoxes(int selectionStart, int selectionEnd) {
+		int length = text.length();
+		if (selectionStart == -1 || selectionEnd == -1
+				|| selectionStart > selectionEnd || selectionStart >= length)
+			return new TextBox[0];
+		return paragraph.getRectsForRange(Math.max(0, selectionStart),
+				Math.min(length, selectionEnd + 1), RectHeightMode.MAX,
+				RectWidthMode.TIGHT);
+	}
+
+	/**
+	 * Paints the backgrounds of the styles, the selection and the paragraph
+	 * with its top left corner at the origin. The selected text is painted in
+	 * the selection foreground by tinting the paragraph within the selection.
+	 */
+	private void paint(Canvas canvas, TextBox[] selection, int selectionForeground,
+			int selectionBackground) {
+
+		TextBox[][] backgroundBoxes = getBackgroundBoxes();
+		if (backgroundBoxes.length > 0 || selection.length > 0) {
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+			try (Paint paint = new Paint()) {
+				for (int i = 0; i < backgroundBoxes.length; i++) {
+					if (backgroundBoxes[i] == null)
+						continue;
+					paint.setColor(paragraphInput.runs[i].background);
+					for (TextBox box : backgroundBoxes[i]) {
+						canvas.drawRect(box.getRect(), paint);
+					}
+				}
+				paint.setColor(selectionBackground);
+				for (TextBox box : selection) {
+					canvas.drawRect(box.getRect(), paint);
+				}
+			}
+		}
+
+		if (selection.length == 0) {
+			paragraph.paint(canvas, 0, 0);
+			return;
+		}
+
+		try (io.github.humbleui.skija.Path selected =
+				new io.github.humbleui.skija.Path()) {
+			Rect bounds = null;
+			for (TextBox box : selection) {
+				selected.addRect(box.getRect());
+				bounds = bounds == null ? box.getRect()
+						: SkijaGC.union(bounds, box.getRect());
+			}
 
-			gc.drawImage(transferImage, x, y);
+			canvas.save();
+			canvas.clipPath(selected, ClipMode.DIFFERENCE, true);
+			paragraph.paint(canvas, 0, 0);
+			canvas.restore();
+
+			canvas.save();
+			canvas.clipPath(selected, ClipMode.INTERSECT, true);
+			SkijaInstrumentation.count(SkijaInstrumentation.Counter.PAINTS);
+			try (Paint tint = new Paint();
+					ColorFilter filter = ColorFilter.makeBlend(
+							selectionForeground, BlendMode.SRC_IN)) {
+				canvas.saveLayer(bounds, tint.setColorFilter(filter));
+			}
+			paragraph.paint(canvas, 0, 0);
+			canvas.restore();
+			canvas.restore();
+		}
+	}
 
-			transferImage.dispose();
+	/**
+	 * Returns the boxes of the runs with a background, which are computed once
+	 * per paragraph. The entries of runs without a background are
+	 * <code>null</code>.
+	 */
+	private TextBox[][] getBackgroundBoxes() {
+		if (backgroundBoxes == null) {
+			StyleRun[] runs = paragraphInput.runs;
+			backgroundBoxes = new TextBox[0][];
+			for (int i = 0; i < runs.length; i++) {
+				if (!runs[i].hasBackground || runs[i].start >= runs[i].end)
+					continue;
+				if (backgroundBoxes.length == 0)
+					backgroundBoxes = new TextBox[runs.length][];
+				backgroundBoxes[i] = paragraph.getRectsForRange(runs[i].start,
+						runs[i].end, RectHeightMode.MAX, RectWidthMode.TIGHT);
+			}
 		}
+		return backgroundBoxes;
+	}
 
+	/**
+	 * Returns the caret index of the paragraph, which is built on the first
+	 * query after the paragraph was shaped.
+	 */
+	private CaretIndex getCaretIndex() {
+		computeRuns(null);
+		if (caretIndex == null) {
+			caretIndex = new CaretIndex(paragraph, text, lineOffsets, lineBounds);
+		}
+		return caretIndex;
+	}
+
+	/**
+	 * Returns the index of the line which contains the given offset of the
+	 * paragraph.
+	 */
+	private int findLine(int offset) {
+		int low = 0, high = lineBounds.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineOffsets[mid] <= offset)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Paints the paragraph into a raster of the size of its bounds and hands it
+	 * to a GC which does not draw with Skia.
+	 */
+	private void transferParagraph(GC gc, int x, int y,
+			Consumer<Canvas> painter) {
+		Rectangle bounds = getBounds();
+		if (bounds.width <= 0 || bounds.height <= 0)
+			return;
+
+		SkijaInstrumentation.count(SkijaInstrumentation.Counter.SURFACES);
+		try (Surface surface = Surface.makeRaster(
+				ImageInfo.makeN32Premul(bounds.width, bounds.height), 0,
+				new SurfaceProps(PixelGeometry.RGB_H))) {
+			painter.accept(surface.getCanvas());
+
+			if (SkijaGC.DIRECT_TRANSFER && gc.innerGC instanceof NativeGC nativeGC
+					&& SkijaGC.transferPixels(nativeGC, surface, 0, 0,
+							bounds.width, bounds.height, x, y, bounds.width,
+							bounds.height)) {
+				return;
+			}
+
+			try (io.github.humbleui.skija.Image snapshot = surface
+					.makeImageSnapshot()) {
+				Image transferImage = new Image(gc.getDevice(),
+						SkijaGC.convertToSkijaImageData(snapshot));
+				SkijaInstrumentation.count(
+						SkijaInstrumentation.Counter.TRANSFERRED_BYTES,
+						(long) bounds.width * bounds.height * 4);
+				gc.drawImage(transferImage, x, y);
+				transferImage.dispose();
+			}
+		}
 	}
 
 	// for (int i = 0; i < lines.length; i++) {
@@ -825,176 +906,254 @@ public final class TextLayout extends Resource {
 	// }
 	// }
 
-	private synchronized Paragraph createParagraph(int selectionStart,
-			int selectionEnd, Color selectionForeground,
-			Color selectionBackground) {
-
-		Paragraph paragraph = null;
-
-		// placeholder for tab
-		var tabPlaceholder = new PlaceholderStyle(40, // Width
-				getLineHeight(), // Height
-				PlaceholderAlignment.MIDDLE, BaselineMode.ALPHABETIC, 0); // Offset
-
-		if (selectionForeground == null)
-			selectionForeground = device
-					.getSystemColor(SWT.COLOR_LIST_FOREGROUND);
-		if (selectionBackground == null)
-			selectionBackground = device
-					.getSystemColor(SWT.COLOR_LIST_BACKGROUND);
-
-		boolean hasSelection = selectionStart != -1 || selectionEnd != -1;
-
-		ParagraphStyle style = new ParagraphStyle();
-		style.setAlignment(Alignment.LEFT);
-
-		FontMgr fontMgr = FontMgr.getDefault();
-
-		FontCollection fc = new FontCollection();
-		fc.setDefaultFontManager(fontMgr);
-
-		String fontFamily = skijaFont.getTypeface().getFamilyName();
-
-		io.github.humbleui.skija.paragraph.TextStyle normal = new io.github.humbleui.skija.paragraph.TextStyle()
-				.setFontStyle(skijaFont.getTypeface().getFontStyle())
-				.setFontSize(skijaFont.getSize())
-				.setFontFamilies(new String[] { fontFamily })
-				.setColor(0xFF000000);
-
-		io.github.humbleui.skija.paragraph.TextStyle selectionStyle = new io.github.humbleui.skija.paragraph.TextStyle()
-				.setFontStyle(skijaFont.getTypeface().getFontStyle())
-				.setFontSize(skijaFont.getSize())
-				.setFontFamilies(new String[] { fontFamily })
-				.setForeground(new Paint().setColor(SkijaGC
-						.convertSWTColorToSkijaColor(selectionForeground)))
-				.setBackground(new Paint().setColor(SkijaGC
-						.convertSWTColorToSkijaColor(selectionBackground)));
-
-		// io.github.humbleui.skija.paragraph.TextStyle selectionStyle = new
-		// io.github.humbleui.skija.paragraph.TextStyle()
-		// .setFontSize(getFontSize())
-		// .setFontFamilies(new String[]{fd.getName()})
-		// .setColor(0xFFFF0000);
+	/**
+	 * Resolves everything the paragraph depends on into plain values, so that
+	 * the paragraph can be shaped on any thread, see
+	 * {@link SkijaParagraphShaper}.
+	 */
+	private ParagraphInput createParagraphInput() {
 
-		int offset = 0;
+		// classical spaces ' ' will be ignored in the paragraph, this means
+		// '\u00A0' is necessary.
+		String str = text.replace(" ", "\u00A0");
 
-		Canvas canvas = surface.getCanvas();
-		canvas.clear(0x00000000);
+		List<StyleRun> runs = new ArrayList<>(stylesCount);
+		for (int j = 0; j < stylesCount; j++) {
+			var si = styles[j];
 
-		try (ParagraphBuilder paragraphBuilder = new ParagraphBuilder(style,
-				fc)) {
+			StyleItem next = null;
 
-			// paragraphBuilder.addPlaceholder(new
-			// PlaceholderStyle(selectionStart,
-			// selectionEnd, null, null, offset));
+			if (styles.length > j + 1)
+				next = styles[j + 1];
 
-			// classical spaces ' ' will be ignored in the paragraph, this means
-			// '\u00A0' is necessary.
-			String str = text.replace(" ", "\u00A0");
-			boolean textIsStyled = false;
+			int nextStyleStart = str.length();
+			if (next != null) {
+				nextStyleStart = Math.min(str.length(), styles[j + 1].start);
+			}
 
-			for (int j = 0; j < stylesCount; j++) {
-				var si = styles[j];
+			if (si.start > nextStyleStart)
+				continue;
 
-				StyleItem next = null;
+			runs.add(convertToStyleRun(si, nextStyleStart));
+		}
 
-				if (styles.length > j + 1)
-					next = styles[j + 1];
+		int lineWidth = getWidth();
 
-				int nextStyleStart = str.length();
-				if (next != null) {
-					nextStyleStart = Math.min(str.length(),
-							styles[j + 1].start);
-				}
+		if (lineWidth < 1) {
+			lineWidth = Integer.MAX_VALUE;
+		} else {
+			lineWidth += 1;
+		}
 
-				if (si.start > nextStyleStart)
-					continue;
+		ParagraphInput input = new ParagraphInput();
+		input.text = str;
+		input.runs = runs.toArray(new StyleRun[runs.size()]);
+		input.fontFamily = skijaFont.getTypeface().getFamilyName();
+		input.fontStyle = skijaFont.getTypeface().getFontStyle();
+		input.fontSize = skijaFont.getSize();
+		input.lineHeight = getLineHeight();
+		input.width = lineWidth;
+		input.styleCache = SkijaParagraphStyleCache.getCache(device);
+		return input;
+	}
 
-				String s = str.substring(si.start, nextStyleStart);
-				if (s != "") {
-					if (hasSelection) {
+	private StyleRun convertToStyleRun(StyleItem si, int end) {
 
-						var ts = convertToTextStyle(si, fontFamily);
+		TextStyle ts = si.style;
 
-						for (int i = si.start; i < nextStyleStart; i++) {
+		StyleRun run = new StyleRun();
+		run.start = si.start;
+		run.end = end;
+		run.fontSize = getFontSize();
 
-							if (selectionStart <= i && i <= selectionEnd) {
+		if (ts == null) {
+			run.foreground = SkijaGC.convertSWTColorToSkijaColor(
+					SkijaDeviceDefaults.get(device).black);
+			return run;
+		}
 
-								paragraphBuilder.pushStyle(selectionStyle);
+		run.foreground = SkijaGC
+				.convertSWTColorToSkijaColor(ts.foreground != null
+						? ts.foreground
+						: SkijaDeviceDefaults.get(device).black);
 
-								addText(paragraphBuilder, tabPlaceholder,
-										str.substring(i,
-												Math.min(nextStyleStart,
-														selectionEnd + 1)));
+		if (ts.background != null) {
+			run.hasBackground = true;
+			run.background = SkijaGC.convertSWTColorToSkijaColor(ts.background);
+		}
 
-								paragraphBuilder.popStyle();
-								i = Math.min(nextStyleStart, selectionEnd + 1)
-										- 1;
+		run.fontStyle = FontStyle.NORMAL;
+		if (ts.font != null && ts.font.getFontData() != null
+				&& ts.font.getFontData().length >= 1) {
+			// the font is owned by the font cache
+			var skijaFont = SkijaGC.convertToSkijaFont(ts.font);
+			run.fontStyle = skijaFont.getTypeface().getFontStyle();
+			run.fontSize = skijaFont.getSize();
+		}
 
-							} else {
-								if (i > selectionStart) {
-									paragraphBuilder.pushStyle(ts);
+		// boolean underline = ts.underline;
+		// boolean overline = false;
+		// boolean strikethrough = ts.strikeout;
+		//
+		// // TODO can we use multiple decoratoins at one TextStyle??
+		// Color underlineCol = ts.underlineColor;
+		// // Color underlineCol = getDevice().getSystemColor(SWT.COLOR_RED);
+		// Color strikethroughCol = ts.strikeoutColor;
+		//
+		// DecorationStyle ds = new DecorationStyle(underline, overline,
+		// strikethrough, false,
+		// SkijaGC.convertSWTColorToSkijaColor(underlineCol),
+		// DecorationLineStyle.SOLID, 1);
 
-									addText(paragraphBuilder, tabPlaceholder,
-											str.substring(i, nextStyleStart));
+		return run;
+	}
 
-									paragraphBuilder.popStyle();
-									i = nextStyleStart - 1;
-								} else {
-									paragraphBuilder.pushStyle(ts);
+	/**
+	 * A range of the text with its resolved style. A <code>null</code> font
+	 * style stands for a range without a text style. The background is not part
+	 * of the paragraph, it is painted by the layout.
+	 */
+	static final class StyleRun {
+		int start, end;
+		int foreground, background;
+		boolean hasBackground;
+		FontStyle fontStyle;
+		float fontSize;
+	}
 
-									addText(paragraphBuilder, tabPlaceholder,
-											str.substring(i,
-													Math.min(nextStyleStart,
-															selectionStart)));
+	/**
+	 * The input of the shaping of a paragraph. It only holds plain values, the
+	 * Skia objects are taken from the styles of the thread which calls
+	 * {@link #shape()}, see {@link SkijaParagraphStyleCache}.
+	 */
+	static final class ParagraphInput {
+		String text;
+		StyleRun[] runs;
+		String fontFamily;
+		FontStyle fontStyle;
+		float fontSize;
+		int lineHeight;
+		int width;
+		SkijaParagraphStyleCache styleCache;
+
+		/**
+		 * Builds the paragraph and lays it out.
+		 */
+		Paragraph shape() {
+			return styleCache.build(this::shape);
+		}
 
-									paragraphBuilder.popStyle();
-									i = Math.min(nextStyleStart, selectionStart)
-											- 1;
-								}
+		private Paragraph shape(SkijaParagraphStyleCache.Styles styles) {
 
-							}
+			Paragraph paragraph = null;
 
-						}
+			// placeholder for tab
+			var tabPlaceholder = new PlaceholderStyle(40, // Width
+					lineHeight, // Height
+					PlaceholderAlignment.MIDDLE, BaselineMode.ALPHABETIC, 0); // Offset
 
-						ts.close();
+			try (ParagraphBuilder paragraphBuilder = new ParagraphBuilder(
+					styles.getParagraphStyle(), styles.getFontCollection())) {
 
-					} else {
+				for (StyleRun run : runs) {
+					paragraphBuilder.pushStyle(styles.getTextStyle(fontFamily,
+							run.foreground, run.fontStyle, run.fontSize));
 
-						var ts = convertToTextStyle(si, fontFamily);
-						paragraphBuilder.pushStyle(ts);
+					addText(paragraphBuilder, tabPlaceholder,
+							text.substring(run.start, run.end));
 
-						addText(paragraphBuilder, tabPlaceholder, s);
+					paragraphBuilder.popStyle();
+				}
 
-						paragraphBuilder.popStyle();
+				if (runs.length == 0) {
+					paragraphBuilder.pushStyle(styles.getTextStyle(fontFamily,
+							0xFF000000, fontStyle, fontSize));
+					paragraphBuilder.addText(text);
+					paragraphBuilder.popStyle();
 
-						ts.close();
-					}
 				}
 
-				textIsStyled = true;
-
+				paragraph = paragraphBuilder.build();
+				paragraph.layout(width);
+			} catch (Exception e) {
+				e.printStackTrace();
 			}
 
-			if (!textIsStyled) {
-				paragraphBuilder.pushStyle(normal);
-				paragraphBuilder.addText(str);
-				paragraphBuilder.popStyle();
+			return paragraph;
+		}
+	}
 
+	/**
+	 * The horizontal edges of the characters of a paragraph, which answer the
+	 * caret and hit test queries of the layout without asking the paragraph
+	 * again. The edges are taken from the paragraph once per character the
+	 * first time the layout is queried. The trail of a surrogate pair shares
+	 * the edges of its lead, and a character without a box, like a line
+	 * delimiter, gets an empty box at the end of the previous character of its
+	 * line. The leading edge of a right to left character is its right edge.
+	 */
+	private static final class CaretIndex {
+		final float[] left, right;
+		/** whether a character belongs to a right to left run */
+		final boolean[] rtl;
+		/** whether the characters of a line advance from left to right */
+		final boolean[] ascending;
+
+		CaretIndex(Paragraph paragraph, String text, int[] lineOffsets,
+				Rectangle[] lineBounds) {
+			int length = text.length();
+			left = new float[length];
+			right = new float[length];
+			rtl = new boolean[length];
+			ascending = new boolean[lineBounds.length];
+			Arrays.fill(ascending, true);
+			int line = 0;
+			for (int i = 0; i < length; i++) {
+				while (line < lineBounds.length - 1 && lineOffsets[line + 1] <= i)
+					line++;
+				if (isTrailSurrogate(text, i)) {
+					left[i] = left[i - 1];
+					right[i] = right[i - 1];
+					rtl[i] = rtl[i - 1];
+					continue;
+				}
+				int end = isTrailSurrogate(text, i + 1) ? i + 2 : i + 1;
+				TextBox[] boxes = paragraph.getRectsForRange(i, end,
+						RectHeightMode.TIGHT, RectWidthMode.TIGHT);
+				if (boxes == null || boxes.length == 0) {
+					left[i] = right[i] = i > lineOffsets[line]
+							? right[i - 1]
+							: lineBounds[line].x;
+				} else {
+					left[i] = Float.MAX_VALUE;
+					right[i] = -Float.MAX_VALUE;
+					rtl[i] = boxes[0].getDirection() == Direction.RTL;
+					for (TextBox box : boxes) {
+						left[i] = Math.min(left[i], box.getRect().getLeft());
+						right[i] = Math.max(right[i], box.getRect().getRight());
+					}
+				}
+				if (i > lineOffsets[line] && left[i] < left[i - 1])
+					ascending[line] = false;
 			}
+		}
 
-			paragraph = paragraphBuilder.build();
-		} catch (Exception e) {
-			e.printStackTrace();
+		float leading(int offset) {
+			return rtl[offset] ? right[offset] : left[offset];
 		}
 
-		selectionStyle.close();
-		normal.close();
+		float trailing(int offset) {
+			return rtl[offset] ? left[offset] : right[offset];
+		}
+	}
 
-		return paragraph;
+	private static boolean isTrailSurrogate(String text, int offset) {
+		return 0 < offset && offset < text.length()
+				&& Character.isLowSurrogate(text.charAt(offset))
+				&& Character.isHighSurrogate(text.charAt(offset - 1));
 	}
 
-	private void addText(ParagraphBuilder paragraphBuilder,
+	private static void addText(ParagraphBuilder paragraphBuilder,
 			PlaceholderStyle tabPlaceholder, String substring) {
 
 		int tabIndex = -1;
@@ -1015,82 +1174,25 @@ public final class TextLayout extends Resource {
 
 	}
 
-	private io.github.humbleui.skija.paragraph.TextStyle convertToTextStyle(
-			StyleItem si, String fontFamily) {
-
-		TextStyle ts = si.style;
-
-		// int foreground = SkijaGC.convertSWTColorToSkijaColor(ts.foreground);
-		// int background = SkijaGC.convertSWTColorToSkijaColor(ts.background);
-
-		if (ts == null) {
-
-			int foreground = SkijaGC.convertSWTColorToSkijaColor(
-					device.getSystemColor(SWT.COLOR_BLACK));
-
-			Paint foreP = new Paint().setColor(foreground);
-
-			return new io.github.humbleui.skija.paragraph.TextStyle()
-					.setFontSize(getFontSize())
-					.setFontFamilies(new String[] { fontFamily })
-					.setForeground(foreP);
-
-		}
-
-		int foreground = SkijaGC
-				.convertSWTColorToSkijaColor(ts.foreground != null
-						? ts.foreground
-						: device.getSystemColor(SWT.COLOR_BLACK));
-		Paint foreP = new Paint().setColor(foreground);
-
-		Paint backP = null;
-
-		if (ts.background != null) {
-			int background = SkijaGC.convertSWTColorToSkijaColor(ts.background);
-			backP = new Paint().setColor(background);
-
-		}
-
-		float fontSize = getFontSize();
-
-		FontStyle fs = FontStyle.NORMAL;
-		if (ts.font != null && ts.font.getFontData() != null
-				&& ts.font.getFontData().length >= 1) {
-			try (var skijaFont = SkijaGC.convertToSkijaFont(ts.font)) {
-				fs = skijaFont.getTypeface().getFontStyle();
-				fontSize = skijaFont.getSize();
-			}
-		}
-
-		// boolean underline = ts.underline;
-		// boolean underline = ts.underline;
-		// boolean overline = false;
-		// boolean strikethrough = ts.strikeout;
-		//
-		// // TODO can we use multiple decoratoins at one TextStyle??
-		// Color underlineCol = ts.underlineColor;
-		// // Color underlineCol = getDevice().getSystemColor(SWT.COLOR_RED);
-		// Color strikethroughCol = ts.strikeoutColor;
-		//
-		// DecorationStyle ds = new DecorationStyle(underline, overline,
-		// strikethrough, false,
-		// SkijaGC.convertSWTColorToSkijaColor(underlineCol),
-		// DecorationLineStyle.SOLID, 1);
-
-		io.github.humbleui.skija.paragraph.TextStyle textSty = new io.github.humbleui.skija.paragraph.TextStyle()
-				.setFontStyle(fs).setFontSize(fontSize)
-				.setFontFamilies(new String[] { fontFamily })
-				.setForeground(foreP) //
-				.setBackground(backP);
-
-		return textSty;
-
+	/**
+	 * Starts the shaping of the paragraph without a selection on a background
+	 * thread, unless the runs are already computed.
+	 */
+	void prefetchRuns() {
+		if (paragraph != null || shaping != null)
+			return;
+		shaping = SkijaParagraphShaper.submit(createParagraphInput());
 	}
 
 	void freeRuns() {
 		lineBounds = null;
 		lineOffsets = null;
 
+		if (shaping != null) {
+			shaping.discard();
+			shaping = null;
+		}
+
 		if (paragraph != null) {
 			if (paragraph != null && !paragraph.isClosed())
 				paragraph.close();
@@ -1098,12 +1200,9 @@ public final class TextLayout extends Resource {
 			paragraph = null;
 		}
 
-		selectionStart = -1;
-		selectionEnd = -1;
-		selectionForeground = null;
-		selectionBackground = null;
-
-		imageBytes = null;
+		paragraphInput = null;
+		backgroundBoxes = null;
+		caretIndex = null;
 
 		// for (int i = 0; i < stylesCount - 1; i++) {
 		// StyleItem run = styles[i];
@@ -1280,21 +1379,24 @@ public final class TextLayout extends Resource {
 	public Rectangle getBounds(int start, int end) {
 		checkLayout();
 
-		computeRuns(null);
-
-		if (end < 0) {
+		CaretIndex index = getCaretIndex();
+		int length = text.length();
+		start = Math.max(0, start);
+		end = Math.min(end, length - 1);
+		if (start > end) {
 			return new Rectangle(0, 0, 0, 0);
 		}
 
-		Point startTop = getLocation(start, false);
-		Point endTop = getLocation(end, false);
-
-		// TODO: this is only an approximation...
-
-		Rectangle r = new Rectangle(startTop.x, startTop.y,
-				endTop.x - startTop.x, endTop.y - startTop.y + 20);
-
-		return r;
+		float left = Float.MAX_VALUE, right = -Float.MAX_VALUE;
+		for (int i = start; i <= end; i++) {
+			left = Math.min(left, index.left[i]);
+			right = Math.max(right, index.right[i]);
+		}
+		Rectangle startLine = lineBounds[findLine(start)];
+		Rectangle endLine = lineBounds[findLine(end)];
+		int x = (int) left;
+		return new Rectangle(x, startLine.y, (int) right - x,
+				endLine.y + endLine.height - startLine.y);
 	}
 
 	/**
@@ -1480,13 +1582,7 @@ public final class TextLayout extends Resource {
 		if (!(0 <= offset && offset <= length))
 			SWT.error(SWT.ERROR_INVALID_RANGE);
 		offset = translateOffset(offset);
-		for (int line = 0; line < lineOffsets.length - 1; line++) {
-			if (lineOffsets[line + 1] > offset) {
-				return line;
-			}
-		}
-
-		return lineBounds.length - 1;
+		return findLine(offset);
 	}
 
 	/**
@@ -1637,7 +1733,7 @@ public final class TextLayout extends Resource {
 	Color getLinkForeground() {
 		if (linkForeground == null) {
 
-			linkForeground = device.getSystemColor(SWT.COLOR_LINK_FOREGROUND);
+			linkForeground = SkijaDeviceDefaults.get(device).linkForeground;
 
 			// /*
 			// * Color used is same as SWT.COLOR_LINK_FOREGROUND computed in
@@ -1676,52 +1772,29 @@ public final class TextLayout extends Resource {
 
 	public Point getLocation(int offset, boolean trailing) {
 		checkLayout();
-		computeRuns(null);
+		CaretIndex index = getCaretIndex();
 		int length = text.length();
 		if (!(0 <= offset && offset <= length)) {
 			SWT.error(SWT.ERROR_INVALID_RANGE);
 		}
 
-		if (offset < 0) {
-			offset = 0;
-		}
-
-		if (offset == text.length()) {
-			TextBox[] tbs = paragraph.getRectsForRange(offset - 1, offset,
-					RectHeightMode.TIGHT, RectWidthMode.TIGHT);
-
-			if (offset == 0) {
-				return new Point(0, 0);
+		int lineIndex = findLine(offset);
+		Rectangle line = lineBounds[lineIndex];
+		if (offset == length) {
+			// behind the last character, or at the start of an empty last line
+			if (offset == 0 || lineOffsets[lineIndex] == offset) {
+				return new Point(line.x, line.y);
 			}
-
-			TextBox tb = tbs[0];
-
-			int x = (int) tb.getRect().getRight();
-			int y = (int) tb.getRect().getTop();
-
-			return new Point(x, y);
-
-		}
-
-		TextBox[] tbs = paragraph.getRectsForRange(offset, offset + 1,
-				RectHeightMode.TIGHT, RectWidthMode.TIGHT);
-
-		if (tbs == null || tbs.length != 1)
-			throw new IllegalStateException("Unexpected. getLocation( " + offset
-					+ " " + trailing + "  " + Arrays.toString(tbs));
-
-		TextBox tb = tbs[0];
-
-		int x = 0;
-		if (trailing)
-			x = (int) tb.getRect().getRight();
-		else {
-			x = (int) tb.getRect().getLeft();
+			// the end of the last run, which is on the right of a right to
+			// left run ending the text
+			float x = index.right[offset - 1];
+			for (int i = offset - 1; i >= lineOffsets[lineIndex] && index.rtl[i]; i--)
+				x = Math.max(x, index.right[i]);
+			return new Point((int) x, line.y);
 		}
-		int y = (int) tb.getRect().getTop();
-
-		return new Point(x, y);
 
+		float x = trailing ? index.trailing(offset) : index.leading(offset);
+		return new Point((int) x, line.y);
 	}
 
 	/**
@@ -1760,6 +1833,10 @@ public final class TextLayout extends Resource {
 		else
 			r = offset + 1;
 
+		// never between the two halves of a surrogate pair
+		if (isTrailSurrogate(text, r))
+			r++;
+
 		return r;
 		// NSAutoreleasePool pool = null;
 		// if (!NSThread.isMainThread())
@@ -1914,47 +1991,70 @@ public final class TextLayout extends Resource {
 
 	public int getOffset(int x, int y, int[] trailing) {
 		checkLayout();
-		computeRuns(null);
+		CaretIndex index = getCaretIndex();
 
 		if (trailing != null && trailing.length < 1)
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		if (trailing != null)
+			trailing[0] = 0;
 		int length = text.length();
 		if (length == 0) {
 			return 0;
 		}
 
-		Rectangle line = null;
-
-		// TODO use binary search.
-		for (int i = 0; i < lineBounds.length; i++) {
-
-			if (lineBounds[i].contains(x, y)) {
-				line = lineBounds[i];
-				break;
-			}
-
+		// the line below the point, points above or below the text hit the
+		// first or the last line
+		int low = 0, high = lineBounds.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineBounds[mid].y <= y)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		int start = lineOffsets[low];
+		int end = Math.min(lineOffsets[low + 1], length);
+		while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r'))
+			end--;
+		if (start == end) {
+			return start;
 		}
 
-		if (line == null) {
-			if (x <= lineBounds[0].x && y <= lineBounds[0].y) {
-				return 0;
-			} else {
-				return text.length();
+		// the character whose box contains the point
+		int position = -1;
+		if (index.ascending[low]) {
+			int first = start, last = end - 1;
+			while (first <= last) {
+				int mid = (first + last) >>> 1;
+				if (index.left[mid] <= x) {
+					position = mid;
+					first = mid + 1;
+				} else {
+					last = mid - 1;
+				}
+			}
+		} else {
+			// mixed directions, the closest box of the line
+			float distance = Float.MAX_VALUE;
+			for (int i = start; i < end; i++) {
+				float d = Math.max(0, Math.max(index.left[i] - x, x - index.right[i]));
+				if (d < distance) {
+					distance = d;
+					position = i;
+				}
 			}
 		}
+		if (position == -1) {
+			return start;
+		}
+		if (isTrailSurrogate(text, position))
+			position--;
 
-		int position = 0;
-
-		PositionWithAffinity affinity = paragraph
-				.getGlyphPositionAtCoordinate((float) x, (float) y);
-
-		if (affinity.getAffinity() == Affinity.UPSTREAM) {
-
-			position = affinity.getPosition() - 1;
-			if (trailing != null)
-				trailing[0] = 1;
-		} else
-			position = affinity.getPosition();
+		int clusterLength = isTrailSurrogate(text, position + 1) ? 2 : 1;
+		float middle = (index.left[position] + index.right[position]) / 2;
+		// the trailing edge of a right to left character is its left edge
+		if (trailing != null && (x >= middle) != index.rtl[position])
+			trailing[0] = clusterLength;
 
 		return position;
 
@@ -2092,6 +2192,9 @@ public final class TextLayout extends Resource {
 		else
 			r = 0;
 
+		if (isTrailSurrogate(text, r))
+			r--;
+
 		return r;
 
 		// NSAutoreleasePool pool = null;
@@ -2650,12 +2753,12 @@ public final class TextLayout extends Resource {
 
 		this.swtFont = font;
 		if (swtFont == null) {
-			swtFont = device.getSystemFont();
+			swtFont = SkijaDeviceDefaults.get(device).systemFont;
 		}
 		if (skijaFont != null) {
 			skijaFont.close();
 		}
-		this.skijaFont = SkijaGC.createSkijaFont(getFont().getFontData()[0]);
+		this.skijaFont = SkijaGC.createSkijaFont(getFont());
 
 		freeRuns();
 	}
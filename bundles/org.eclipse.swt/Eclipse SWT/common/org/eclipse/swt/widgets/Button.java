@@ -324,7 +324,7 @@ public class Button extends CustomControl {
 		if (!isVisible()) {
 			return;
 		}
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	private void onDispose(Event event) {
@@ -140,7 +140,7 @@ public class ColorComposite extends Composite {
 	}
 
 	private void onPaint(Event event) {
-		Drawing.drawWithGC(this, event.gc, this::drawColorGrid);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), this::drawColorGrid);
 	}
 
 	private void drawColorGrid(GC gc) {
@@ -184,7 +184,7 @@ public class ColorPickerComposite extends Composite {
 	}
 
 	private void onPaint(Event event) {
-		Drawing.drawWithGC(drawArea, event.gc, this::paint);
+		Drawing.drawWithGC(drawArea, event.gc, event.getBounds(), this::paint);
 	}
 
 	private void paint(GC gc) {
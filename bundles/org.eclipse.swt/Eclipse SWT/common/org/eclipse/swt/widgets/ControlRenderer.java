@@ -17,6 +17,9 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Drawing;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.SkijaInstrumentation;
+import org.eclipse.swt.graphics.SkijaPaintRecording;
+import org.eclipse.swt.graphics.SkijaTiledRasterizer;
 
 import java.util.function.Function;
 
@@ -26,17 +29,73 @@ public abstract class ControlRenderer {
 	public static final String COLOR_BACKGROUND = "background"; //$NON-NLS-1$
 	protected static final String COLOR_FOREGROUND = "foreground"; //$NON-NLS-1$
 
+	/**
+	 * Paints the control. The GC may be clipped to the damaged area of the
+	 * control, so implementations may skip anything outside of
+	 * {@link GC#getClipping()}.
+	 */
 	protected abstract void paint(GC gc, int width, int height);
 
 	private final Control control;
+	private final SkijaPaintRecording recording;
+	private long stateVersion;
+	private ColorProvider recordedColorProvider;
 
 	protected ControlRenderer(Control control) {
 		this.control = control;
+		// only custom controls report their state changes to the renderer
+		recording = (SkijaPaintRecording.ENABLED || SkijaTiledRasterizer.isEnabled())
+				&& (control instanceof CustomControl || control instanceof CustomComposite)
+				? new SkijaPaintRecording()
+				: null;
 	}
 
 	public final void paint(GC gc) {
-		final Point size = control.getSize();
-		paint(gc, size.x, size.y);
+		long begin = SkijaInstrumentation.begin();
+		try {
+			paint(gc, control.getSize());
+		} finally {
+			SkijaInstrumentation.end(SkijaInstrumentation.Phase.PAINT, control.getClass(), begin);
+		}
+	}
+
+	private void paint(GC gc, Point size) {
+		if (recording == null) {
+			paint(gc, size.x, size.y);
+			return;
+		}
+
+		ColorProvider colorProvider = control.getColorProvider();
+		if (colorProvider != recordedColorProvider) {
+			recordedColorProvider = colorProvider;
+			stateVersion++;
+		}
+		recording.paint(gc, size.x, size.y, stateVersion, g -> paint(g, size.x, size.y));
+	}
+
+	/**
+	 * Notifies the renderer that the state of the control changed, so a recorded
+	 * paint must not be replayed anymore.
+	 */
+	public final void stateChanged() {
+		stateVersion++;
+	}
+
+	/**
+	 * Returns the version of the state of the control, which is incremented by
+	 * {@link #stateChanged()}.
+	 */
+	public final long getStateVersion() {
+		return stateVersion;
+	}
+
+	/**
+	 * Releases the recorded paint, if any.
+	 */
+	public final void releaseRecording() {
+		if (recording != null) {
+			recording.release();
+		}
 	}
 
 	protected final Color getColor(String key) {
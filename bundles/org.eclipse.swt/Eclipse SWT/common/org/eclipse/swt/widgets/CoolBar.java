@@ -702,7 +702,7 @@ void onMouseDoubleClick(Event event) {
 	fixEvent(event);
 }
 void onPaint(Event event) {
-	Drawing.drawWithGC(this, event.gc, renderer::paint);
+	Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 }
 void onResize () {
 	layoutItems ();
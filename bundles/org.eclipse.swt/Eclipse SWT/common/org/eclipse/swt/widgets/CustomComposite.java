@@ -16,8 +16,43 @@ public abstract class CustomComposite extends Composite {
 	protected Color background;
 	protected Color foreground;
 
+	private final SkijaBackingSurface backingSurface = new SkijaBackingSurface();
+	private final Listener parentPaintListener = event -> backingSurface.invalidateBackground();
+
 	protected CustomComposite(Composite parent, int style) {
 		super(parent, style);
+		parent.addListener(SWT.Paint, parentPaintListener);
+		addListener(SWT.Hide, event -> releaseBackingSurface());
+		addListener(SWT.Dispose, event -> {
+			if (!this.parent.isDisposed()) {
+				this.parent.removeListener(SWT.Paint, parentPaintListener);
+			}
+			releaseBackingSurface();
+		});
+	}
+
+	/**
+	 * Returns the surface the control is rendered into. It is kept across paints
+	 * and only reallocated if the size or zoom changes.
+	 *
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final SkijaBackingSurface getBackingSurface() {
+		return backingSurface;
+	}
+
+	/**
+	 * Releases the native memory held for rendering the control. It is allocated
+	 * again on the next paint.
+	 *
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public void releaseBackingSurface() {
+		backingSurface.release();
+		ControlRenderer renderer = getRenderer();
+		if (renderer != null) {
+			renderer.releaseRecording();
+		}
 	}
 
 	@Override
@@ -30,6 +65,7 @@ public abstract class CustomComposite extends Composite {
 		if (color != null && color.isDisposed())
 			error(SWT.ERROR_INVALID_ARGUMENT);
 		this.background = color;
+		stateChanged();
 		super.setBackground(color);
 	}
 
@@ -43,6 +79,7 @@ public abstract class CustomComposite extends Composite {
 		if (color != null && color.isDisposed())
 			error(SWT.ERROR_INVALID_ARGUMENT);
 		this.foreground = color;
+		stateChanged();
 		super.setForeground(color);
 	}
 
@@ -90,6 +127,7 @@ public abstract class CustomComposite extends Composite {
 
 		this.x = x;
 		this.y = y;
+		backingSurface.invalidateBackground();
 		super.setLocation(x, y);
 		redraw();
 	}
@@ -120,6 +158,7 @@ public abstract class CustomComposite extends Composite {
 		this.y = rect.y;
 		this.width = rect.width;
 		this.height = rect.height;
+		backingSurface.invalidateBackground();
 		super.setBounds(rect);
 		redraw();
 	}
@@ -135,9 +174,54 @@ public abstract class CustomComposite extends Composite {
 			return;
 		}
 		super.setEnabled(enabled);
+		stateChanged();
 		if (parent.isEnabled()) {
 			redraw();
 		}
 	}
 
+	@Override
+	public void redraw() {
+		backingSurface.invalidate();
+		stateChanged();
+		super.redraw();
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		backingSurface.invalidate(new Rectangle(x, y, width, height));
+		stateChanged();
+		super.redraw(x, y, width, height, all);
+	}
+
+	/**
+	 * Scrolls the rendering within the given area by the given distance, all in
+	 * points, and redraws the area. The rendering which stays visible is shifted
+	 * within the backing surface, so only the exposed part is rendered again.
+	 *
+	 * @return <code>false</code> if the rendering could not be shifted, then the
+	 *         caller has to redraw the control
+	 */
+	boolean scrollRendering(Rectangle area, int deltaX, int deltaY) {
+		if (!backingSurface.scroll(area, deltaX, deltaY)) {
+			return false;
+		}
+		stateChanged();
+		super.redraw(area.x, area.y, area.width, area.height, false);
+		return true;
+	}
+
+	@Override
+	public void setFont(Font font) {
+		stateChanged();
+		super.setFont(font);
+	}
+
+	private void stateChanged() {
+		// the renderer is not yet created while the super constructor runs
+		ControlRenderer renderer = getRenderer();
+		if (renderer != null) {
+			renderer.stateChanged();
+		}
+	}
 }
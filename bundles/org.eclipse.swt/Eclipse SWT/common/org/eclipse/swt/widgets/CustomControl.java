@@ -32,8 +32,43 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	protected Color background;
 	protected Color foreground;
 
+	private final SkijaBackingSurface backingSurface = new SkijaBackingSurface();
+	private final Listener parentPaintListener = event -> backingSurface.invalidateBackground();
+
 	protected CustomControl(Composite parent, int style) {
 		super(parent, style);
+		parent.addListener(SWT.Paint, parentPaintListener);
+		addListener(SWT.Hide, event -> releaseBackingSurface());
+		addListener(SWT.Dispose, event -> {
+			if (!this.parent.isDisposed()) {
+				this.parent.removeListener(SWT.Paint, parentPaintListener);
+			}
+			releaseBackingSurface();
+		});
+	}
+
+	/**
+	 * Returns the surface the control is rendered into. It is kept across paints
+	 * and only reallocated if the size or zoom changes.
+	 *
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final SkijaBackingSurface getBackingSurface() {
+		return backingSurface;
+	}
+
+	/**
+	 * Releases the native memory held for rendering the control. It is allocated
+	 * again on the next paint.
+	 *
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public void releaseBackingSurface() {
+		backingSurface.release();
+		ControlRenderer renderer = getRenderer();
+		if (renderer != null) {
+			renderer.releaseRecording();
+		}
 	}
 
 	@Override
@@ -77,6 +112,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 
 		this.x = x;
 		this.y = y;
+		backingSurface.invalidateBackground();
 		super.setLocation(x, y);
 		redraw();
 	}
@@ -105,6 +141,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 		this.y = rect.y;
 		this.width = rect.width;
 		this.height = rect.height;
+		backingSurface.invalidateBackground();
 		super.setBounds(rect);
 		redraw();
 	}
@@ -120,6 +157,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 			return;
 		}
 		super.setEnabled(enabled);
+		stateChanged();
 		if (parent.isEnabled()) {
 			redraw();
 		}
@@ -134,6 +172,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	public void setBackground(Color color) {
 		if (color != null && color.isDisposed ()) error (SWT.ERROR_INVALID_ARGUMENT);
 		this.background = color;
+		stateChanged();
 		super.setBackground(color);
 	}
 
@@ -146,6 +185,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	public void setForeground(Color color) {
 		if (color != null && color.isDisposed ()) error (SWT.ERROR_INVALID_ARGUMENT);
 		this.foreground = color;
+		stateChanged();
 		super.setForeground(color);
 	}
 
@@ -158,4 +198,30 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 		int height = hHint == SWT.DEFAULT ? defaultSize.y : hHint;
 		return new Point(width, height);
 	}
+
+	@Override
+	public void redraw() {
+		stateChanged();
+		super.redraw();
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		stateChanged();
+		super.redraw(x, y, width, height, all);
+	}
+
+	@Override
+	public void setFont(Font font) {
+		stateChanged();
+		super.setFont(font);
+	}
+
+	private void stateChanged() {
+		// the renderer is not yet created while the super constructor runs
+		ControlRenderer renderer = getRenderer();
+		if (renderer != null) {
+			renderer.stateChanged();
+		}
+	}
 }
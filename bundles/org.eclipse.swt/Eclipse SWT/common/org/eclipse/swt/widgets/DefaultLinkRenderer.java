@@ -142,10 +142,7 @@ class DefaultLinkRenderer extends LinkRenderer {
 		if (!displayText.isEmpty()) {
 			String[] lines = displayText.split("\n", -1);
 			for (String line : lines) {
-				Point textExtent = measure(gc -> {
-					gc.setFont(link.getFont());
-					return gc.textExtent(line, DRAW_FLAGS);
-				});
+				Point textExtent = getTextExtent(line, DRAW_FLAGS);
 				lineWidth = Math.max(textExtent.x, lineWidth);
 				lineHeight = lineHeight + textExtent.y;
 			}
@@ -551,7 +551,7 @@ void onMouseUp (Event event) {
 }
 
 void onPaint (Event event) {
-	Drawing.drawWithGC(this, event.gc, renderer::paint);
+	Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 }
 
 void onResize () {
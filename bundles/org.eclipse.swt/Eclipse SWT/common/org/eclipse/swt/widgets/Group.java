@@ -108,7 +108,7 @@ public class Group extends CustomComposite {
 	}
 
 	private void onPaint(Event event) {
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	static int checkStyle(int style) {
@@ -427,7 +427,7 @@ public class Label extends CustomControl {
 	}
 
 	private void onPaint(Event event) {
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 
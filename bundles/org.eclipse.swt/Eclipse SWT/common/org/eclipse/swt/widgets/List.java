@@ -104,7 +104,7 @@ public class List extends NativeBasedCustomScrollable {
 			return;
 		}
 
-		Drawing.drawWithGC(this, event.gc, gc -> renderer.paint(gc));
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), gc -> renderer.paint(gc));
 	}
 
 	private void onKeyReleased(Event event) {
@@ -371,10 +371,7 @@ public class List extends NativeBasedCustomScrollable {
 	public int getItemHeightInPixels() {
 		checkWidget();
 		String referenceText = this.items.isEmpty() ? DUMMY_ITEM_TEXT : this.items.get(0);
-		Point size = Drawing.measure(this, gc -> {
-			gc.setFont(getFont());
-			return gc.textExtent(referenceText);
-		});
+		Point size = Drawing.getTextExtent(this, referenceText, SWT.DRAW_DELIMITER | SWT.DRAW_TAB);
 		int itemHeight = size.y;
 		if (itemHeight <= 0) error(SWT.ERROR_CANNOT_GET_ITEM_HEIGHT);
 		return itemHeight;
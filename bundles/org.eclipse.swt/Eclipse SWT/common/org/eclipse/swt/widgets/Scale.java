@@ -307,7 +307,7 @@ public class Scale extends CustomControl {
 			return;
 		}
 
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	@Override
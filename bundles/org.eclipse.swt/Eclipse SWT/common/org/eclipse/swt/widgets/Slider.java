@@ -260,7 +260,7 @@ public class Slider extends CustomControl {
 		}
 
 		Rectangle drawingArea = getBounds();
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 		this.drawWidth = drawingArea.width;
 		this.drawHeight = drawingArea.height;
 		this.thumbRectangle = renderer.getThumbRectangle();
@@ -2089,8 +2089,7 @@ void onPageTraversal(Event event) {
 void onPaint(Event event) {
 	if (inDispose) return;
 
-	Point size = getSize();
-	Drawing.drawWithGC(this, event.gc, gc -> renderer.paint(gc, size.x, size.y));
+	Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	// Select 0th tab after paint.
 	if (selectedIndex == -1) {
 		setSelection(0);
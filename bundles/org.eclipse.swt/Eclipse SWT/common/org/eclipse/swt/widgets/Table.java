@@ -303,7 +303,10 @@ public class Table extends CustomComposite {
 			int vs = vBar.getSelection();
 			setTopIndex(vs);
 		}
-		redraw();
+		// a change of the top index is already redrawn
+		if (event.type == SWT.H_SCROLL) {
+			redraw();
+		}
 	}
 
 	void initializeAccessible() {
@@ -331,7 +334,9 @@ public class Table extends CustomComposite {
 
 	private void onSelection(Event event) {
 		if (event.widget == verticalBar) {
+			// a change of the top index is already redrawn
 			setTopIndex(verticalBar.getSelection());
+			return;
 		}
 
 		// TODO also the scrollbars will be handled here
@@ -496,7 +501,7 @@ public class Table extends CustomComposite {
 			return;
 		}
 
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	public boolean columnsExist() {
@@ -2811,16 +2816,39 @@ public class Table extends CustomComposite {
 			index = getItemCount() - 1;
 		}
 
+		int scrolledRows = topIndex - index;
 		topIndex = index;
 
-		if (mouseHoverElement instanceof TableItem) {
+		if (verticalBar != null) {
+			verticalBar.setSelection(topIndex);
+		}
+		// the item under the cursor changes, the next mouse move finds it again
+		TableItem hoveredItem = mouseHoverElement instanceof TableItem item ? item : null;
+		if (hoveredItem != null) {
 			mouseHoverElement = null;
 		}
+		if (!scrollItems(scrolledRows)) {
+			redraw();
+		} else if (hoveredItem != null && !hoveredItem.isDisposed()) {
+			// the shifted rendering still shows the highlight of the item
+			hoveredItem.redraw();
+		}
+	}
 
-		if (verticalBar != null) {
-			verticalBar.setSelection(topIndex);
+	/**
+	 * Shifts the rendering of the items by the given number of rows, so only the
+	 * exposed rows are rendered again.
+	 */
+	private boolean scrollItems(int rows) {
+		if (rows == 0 || topIndex >= getItemCount()) {
+			return false;
 		}
-		redraw();
+		Rectangle itemsArea = itemsHandler.getItemsClientArea();
+		int deltaY = rows * TableItemsHandler.getItemsHeight(getItem(topIndex));
+		if (Math.abs(deltaY) >= itemsArea.height) {
+			return false;
+		}
+		return scrollRendering(itemsArea, 0, deltaY);
 	}
 
 	/**
@@ -2973,10 +3001,7 @@ public class Table extends CustomComposite {
 
 	// TODO move this heuristic somewhere else.
 	static int guessTextHeight(Table table) {
-		return Drawing.measure(table, gc -> {
-			gc.setFont(table.getFont());
-			return gc.getFontMetrics().getHeight();
-		});
+		return Drawing.getFontMetrics(table).getHeight();
 	}
 
 	Point computeTextExtent(String str) {
@@ -50,6 +50,7 @@ class TableColumnsHandler {
 		if (!table.getHeaderVisible()) return;
 
 		var ca = table.getClientArea();
+		var damage = gc.getClipping();
 
 		if (Table.FILL_AREAS) {
 			var prev = gc.getBackground();
@@ -61,7 +62,8 @@ class TableColumnsHandler {
 		var fgBef = gc.getForeground();
 
 		for (var c : table.getColumns()) {
-			if (!c.getBounds().intersects(ca)) {
+			var columnBounds = c.getBounds();
+			if (!columnBounds.intersects(ca) || !columnBounds.intersects(damage)) {
 				continue;
 			}
 
@@ -73,6 +73,7 @@ class TableItemsHandler {
 		var fgBef = gc.getForeground();
 
 		this.lastVisibleElementIndex = -1;
+		final Rectangle damage = gc.getClipping();
 
 		for (int i = table.getTopIndex(); i < table.getItemCount(); i++) {
 			var item = table.getItem(i);
@@ -81,9 +82,12 @@ class TableItemsHandler {
 				table.checkData(item, i, false);
 			}
 
-			item.doPaint(gc);
-
+			// items outside of the damaged area keep their current pixels
 			final Rectangle bounds = item.getFullBounds();
+			if (bounds.intersects(damage)) {
+				item.doPaint(gc);
+			}
+
 			if (bounds.y + bounds.height > itemsArea.y + itemsArea.height) {
 				this.lastVisibleElementIndex = i;
 				break;
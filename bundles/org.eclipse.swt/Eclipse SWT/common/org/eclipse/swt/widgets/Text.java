@@ -516,7 +516,7 @@ public class Text extends NativeBasedCustomScrollable {
 	}
 
 	private void paintControl(Event e) {
-		Drawing.drawWithGC(this, e.gc, renderer::paint);
+		Drawing.drawWithGC(this, e.gc, e.getBounds(), renderer::paint);
 	}
 
 	@Override
@@ -281,7 +281,7 @@ public class ToolBar extends CustomComposite {
 			return;
 		}
 
-		Drawing.drawWithGC(this, event.gc, gc -> renderer.paint(gc, size.x, size.y));
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	/**
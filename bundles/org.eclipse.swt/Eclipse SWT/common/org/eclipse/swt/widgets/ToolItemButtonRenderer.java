@@ -269,12 +269,7 @@ class ToolItemButtonRenderer implements ToolItemRenderer {
 	}
 
 	private Point getTextSize() {
-		return Drawing.measure(bar, this::doMesureText);
-	}
-
-	private Point doMesureText(GC gc) {
-		gc.setFont(bar.getFont());
-		return gc.textExtent(item.getText(), DRAW_FLAGS);
+		return Drawing.getTextExtent(bar, item.getText(), DRAW_FLAGS);
 	}
 
 	private Blueprint getStackedBlueprint(Point requestedSize) {
@@ -290,7 +290,10 @@ public class Tree extends CustomComposite {
 			int vs = vBar.getSelection();
 			setTopIndex(vs);
 		}
-		redraw();
+		// a change of the top index is already redrawn
+		if (event.type == SWT.H_SCROLL) {
+			redraw();
+		}
 	}
 
 	void initializeAccessible() {
@@ -320,6 +323,7 @@ public class Tree extends CustomComposite {
 	private void onSelection(Event event) {
 		if (event.widget == verticalBar) {
 			onScrollBar(event);
+			return;
 		}
 
 		// TODO also the scrollbars will be handled here
@@ -503,7 +507,7 @@ public class Tree extends CustomComposite {
 	}
 
 	private void onPaint(Event event) {
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, event.getBounds(), renderer::paint);
 	}
 
 	public boolean columnsExist() {
@@ -3048,13 +3052,36 @@ public class Tree extends CustomComposite {
 			index = getItemCount() - 1;
 		}
 
+		int scrolledRows = topIndex - index;
 		topIndex = index;
 
-		if (mouseHoverElement instanceof TreeItem) {
+		// the item under the cursor changes, the next mouse move finds it again
+		TreeItem hoveredItem = mouseHoverElement instanceof TreeItem item ? item : null;
+		if (hoveredItem != null) {
 			mouseHoverElement = null;
 		}
+		if (!scrollItems(scrolledRows)) {
+			redraw();
+		} else if (hoveredItem != null && !hoveredItem.isDisposed()) {
+			// the shifted rendering still shows the highlight of the item
+			hoveredItem.redraw();
+		}
+	}
 
-		redraw();
+	/**
+	 * Shifts the rendering of the items by the given number of rows, so only the
+	 * exposed rows are rendered again.
+	 */
+	private boolean scrollItems(int rows) {
+		if (rows == 0 || topIndex >= treeItemsArrangement.size()) {
+			return false;
+		}
+		Rectangle itemsArea = itemsHandler.getItemsClientArea();
+		int deltaY = rows * TreeItemsHandler.getItemsHeight(treeItemsArrangement.get(topIndex));
+		if (Math.abs(deltaY) >= itemsArea.height) {
+			return false;
+		}
+		return scrollRendering(itemsArea, 0, deltaY);
 	}
 
 	/**
@@ -3245,10 +3272,7 @@ public class Tree extends CustomComposite {
 
 	// TODO move this heuristic somewhere else.
 	static int guessTextHeight(Tree tree) {
-		return Drawing.measure(tree, gc -> {
-			gc.setFont(tree.getFont());
-			return gc.getFontMetrics().getHeight();
-		});
+		return Drawing.getFontMetrics(tree).getHeight();
 	}
 
 	Point computeTextExtent(String str) {
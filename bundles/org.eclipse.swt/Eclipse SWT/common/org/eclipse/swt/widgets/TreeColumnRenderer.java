@@ -50,28 +50,27 @@ public class TreeColumnRenderer {
 	}
 
 	Point computeSize() {
-		return Drawing.measure(getParent(), gc -> {
-			int colIndex = getParent().indexOf(column);
-			Point fin = new Point(0, 0);
-			int width = 0;
-			final TreeItem[] items = getParent().getItems();
-			if (items != null) {
-				final boolean virtual = getParent().isVirtual();
-				for (TreeItem item : items) {
-					if (virtual && !item.cached) {
-						continue;
-					}
-					Point p = item.computeCellSize(colIndex);
-					width = Math.max(width, p.x);
-					item.clearCache();
+		int colIndex = getParent().indexOf(column);
+		Point fin = new Point(0, 0);
+		int width = 0;
+		final TreeItem[] items = getParent().getItems();
+		if (items != null) {
+			final boolean virtual = getParent().isVirtual();
+			for (TreeItem item : items) {
+				if (virtual && !item.cached) {
+					continue;
 				}
+				Point p = item.computeCellSize(colIndex);
+				width = Math.max(width, p.x);
+				item.clearCache();
 			}
+		}
 
-			Point headerExt = gc.textExtent(column.getText());
-			fin.x = Math.max(headerExt.x + 2 * DEFAULT_MARGIN + 2 * DEFAULT_BORDER_WIDTH, width);
-			fin.y = Math.max(headerExt.y + DEFAULT_MARGIN_UP + DEFAULT_MARGIN_DOWN + 2 * DEFAULT_BORDER_WIDTH, 10);
-			return fin;
-		});
+		Point headerExt = Drawing.getTextExtent(getParent(), column.getText(),
+				SWT.DRAW_DELIMITER | SWT.DRAW_TAB);
+		fin.x = Math.max(headerExt.x + 2 * DEFAULT_MARGIN + 2 * DEFAULT_BORDER_WIDTH, width);
+		fin.y = Math.max(headerExt.y + DEFAULT_MARGIN_UP + DEFAULT_MARGIN_DOWN + 2 * DEFAULT_BORDER_WIDTH, 10);
+		return fin;
 	}
 
 	private Tree getParent() {
@@ -51,6 +51,7 @@ class TreeColumnsHandler {
 			return;
 
 		var ca = tree.getClientArea();
+		var damage = gc.getClipping();
 
 		if (tree.FILL_AREAS) {
 			var prev = gc.getBackground();
@@ -62,7 +63,8 @@ class TreeColumnsHandler {
 		var fgBef = gc.getForeground();
 
 		for (var c : tree.getColumns()) {
-			if (!c.getBounds().intersects(ca)) {
+			var columnBounds = c.getBounds();
+			if (!columnBounds.intersects(ca) || !columnBounds.intersects(damage)) {
 				continue;
 			}
 
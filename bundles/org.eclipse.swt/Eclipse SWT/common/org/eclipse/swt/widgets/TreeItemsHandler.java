@@ -75,6 +75,7 @@ class TreeItemsHandler {
 		Color fgBef = gc.getForeground();
 
 		this.lastVisibleElementIndex = -1;
+		final Rectangle damage = gc.getClipping();
 		tree.synchronizeArrangements(false);
 		List<TreeItem> list = tree.treeItemsArrangement;
 
@@ -89,9 +90,12 @@ class TreeItemsHandler {
 				tree.checkData(item, itemIndex, false);
 			}
 
-			item.doPaint(gc);
-
+			// items outside of the damaged area keep their current pixels
 			final Rectangle bounds = item.getFullBounds();
+			if (bounds.intersects(damage)) {
+				item.doPaint(gc);
+			}
+
 			if (bounds.y + bounds.height > itemsArea.y + itemsArea.height) {
 				this.lastVisibleElementIndex = i;
 				break;
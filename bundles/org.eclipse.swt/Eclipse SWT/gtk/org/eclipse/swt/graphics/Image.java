@@ -128,7 +128,7 @@ public final class Image extends Resource implements Drawable {
 	/**
 	 * The GC the image is currently selected in.
 	 */
-	NativeGC memGC;
+	GCHandle memGC;
 
 	/**
 	 * The width of the image.
@@ -925,6 +925,7 @@ void destroyMask() {
 @Override
 void destroy() {
 	if (memGC != null) memGC.dispose();
+	SkijaImageCache.invalidate(this);
 	if (mask != 0) OS.g_object_unref(mask);
 	if (surface != 0) Cairo.cairo_surface_destroy(surface);
 	surface = mask = 0;
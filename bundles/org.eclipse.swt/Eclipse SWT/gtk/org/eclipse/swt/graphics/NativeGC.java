@@ -683,6 +683,7 @@ void destroy() {
 	if (image != null) {
 		image.memGC = null;
 		if (image.transparentPixel != -1) image.createMask();
+		SkijaImageCache.invalidate(image);
 	}
 
 	disposeLayout();
@@ -932,6 +933,59 @@ public void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcH
 	}
 }
 
+/**
+ * Draws a block of premultiplied 32-bit pixels in native byte order (the
+ * layout of both a Skia N32 raster and a cairo ARGB32 surface) without
+ * going through an intermediate <code>Image</code> or <code>ImageData</code>.
+ * The source area is given in pixels, the destination area in points.
+ *
+ * @return <code>true</code> if the pixels have been transferred
+ */
+boolean drawPixels(long pixels, int stride, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pixels == 0) return false;
+	if (srcWidth <= 0 || srcHeight <= 0 || destWidth <= 0 || destHeight <= 0) return true;
+	if (data.alpha == 0) return true;
+	/*
+	* cairo_image_surface_create_for_data() is not available, so the pixels are
+	* copied natively into a cairo owned surface of the same format.
+	*/
+	long surface = Cairo.cairo_image_surface_create(Cairo.CAIRO_FORMAT_ARGB32, srcWidth, srcHeight);
+	if (surface == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	long surfaceData = Cairo.cairo_image_surface_get_data(surface);
+	int surfaceStride = Cairo.cairo_image_surface_get_stride(surface);
+	long source = pixels + (long)srcY * stride + (long)srcX * 4;
+	if (surfaceStride == stride) {
+		C.memmove(surfaceData, source, (long)stride * srcHeight);
+	} else {
+		for (int y = 0; y < srcHeight; y++) {
+			C.memmove(surfaceData + (long)y * surfaceStride, source + (long)y * stride, srcWidth * 4L);
+		}
+	}
+	Cairo.cairo_surface_mark_dirty(surface);
+	long cairo = data.cairo;
+	Cairo.cairo_save(cairo);
+	if ((data.style & SWT.MIRRORED) != 0) {
+		Cairo.cairo_scale(cairo, -1f,  1);
+		Cairo.cairo_translate(cairo, - 2 * destX - destWidth, 0);
+	}
+	Cairo.cairo_rectangle(cairo, destX, destY, destWidth, destHeight);
+	Cairo.cairo_clip(cairo);
+	Cairo.cairo_translate(cairo, destX, destY);
+	if (srcWidth != destWidth || srcHeight != destHeight) {
+		Cairo.cairo_scale(cairo, destWidth / (double)srcWidth, destHeight / (double)srcHeight);
+	}
+	Cairo.cairo_set_source_surface(cairo, surface, 0, 0);
+	if (data.alpha != 0xFF) {
+		Cairo.cairo_paint_with_alpha(cairo, data.alpha / (float)0xFF);
+	} else {
+		Cairo.cairo_paint(cairo);
+	}
+	Cairo.cairo_restore(cairo);
+	Cairo.cairo_surface_destroy(surface);
+	return true;
+}
+
 /**
  * Draws a line, using the foreground color, between the points
  * (<code>x1</code>, <code>y1</code>) and (<code>x2</code>, <code>y2</code>).
@@ -317,6 +317,24 @@ public Rectangle getBounds() {
 	return new Rectangle(rect.x, rect.y, rect.width, rect.height);
 }
 
+/**
+ * Returns the rectangles the receiver consists of.
+ */
+Rectangle[] getRectangles() {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	int[] nRects = new int[1];
+	long[] rects = new long[1];
+	cairo_region_get_rectangles(handle, rects, nRects);
+	Rectangle[] result = new Rectangle[nRects[0]];
+	cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
+	for (int i = 0; i < nRects[0]; i++) {
+		Cairo.memmove(rect, rects[0] + (i * cairo_rectangle_int_t.sizeof), cairo_rectangle_int_t.sizeof);
+		result[i] = new Rectangle(rect.x, rect.y, rect.width, rect.height);
+	}
+	if (rects[0] != 0) OS.g_free(rects[0]);
+	return result;
+}
+
 /**
  * Invokes platform specific functionality to allocate a new region.
  * <p>
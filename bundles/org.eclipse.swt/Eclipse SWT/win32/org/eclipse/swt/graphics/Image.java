@@ -112,7 +112,7 @@ public final class Image extends Resource implements Drawable {
 	/**
 	 * the GC which is drawing on the image
 	 */
-	GC memGC;
+	GCHandle memGC;
 
 	/**
 	 * AbstractImageProvider to avail right ImageProvider (ImageDataProvider or ImageFileNameProvider)
@@ -1001,6 +1001,7 @@ long [] createGdipImage(Integer zoom) {
 void destroy () {
 	device.deregisterResourceWithZoomSupport(this);
 	if (memGC != null) memGC.dispose();
+	SkijaImageCache.invalidate(this);
 	this.isDestroyed = true;
 	destroyHandles();
 	memGC = null;
@@ -724,7 +724,10 @@ void destroy() {
 		data.hNullBitmap = 0;
 	}
 	Image image = data.image;
-	if (image != null) image.memGC = null;
+	if (image != null) {
+		image.memGC = null;
+		SkijaImageCache.invalidate(image);
+	}
 
 	/*
 	* Dispose the HDC.
@@ -1122,6 +1125,54 @@ void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight,
 	}
 }
 
+/**
+ * Draws a block of premultiplied 32-bit BGRA pixels (the layout of a Skia
+ * N32 raster) without going through an intermediate <code>Image</code> or
+ * <code>ImageData</code>. The source area is given in pixels, the destination
+ * area in points.
+ *
+ * @return <code>true</code> if the pixels have been transferred
+ */
+boolean drawPixels(long pixels, int stride, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pixels == 0 || data.gdipGraphics != 0) return false;
+	if (srcWidth <= 0 || srcHeight <= 0 || destWidth <= 0 || destHeight <= 0) return true;
+	if (data.alpha == 0) return true;
+	Rectangle dest = DPIUtil.scaleUp(drawable, new Rectangle(destX, destY, destWidth, destHeight), getZoom());
+	BITMAPINFOHEADER bmiHeader = new BITMAPINFOHEADER();
+	bmiHeader.biSize = BITMAPINFOHEADER.sizeof;
+	bmiHeader.biWidth = srcWidth;
+	bmiHeader.biHeight = -srcHeight;
+	bmiHeader.biPlanes = 1;
+	bmiHeader.biBitCount = 32;
+	bmiHeader.biCompression = OS.BI_RGB;
+	byte[] bmi = new byte[BITMAPINFOHEADER.sizeof];
+	OS.MoveMemory(bmi, bmiHeader, BITMAPINFOHEADER.sizeof);
+	long[] pBits = new long[1];
+	long dib = OS.CreateDIBSection(0, bmi, OS.DIB_RGB_COLORS, pBits, 0, 0);
+	if (dib == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	long source = pixels + (long)srcY * stride + (long)srcX * 4;
+	int dibStride = srcWidth * 4;
+	if (dibStride == stride) {
+		OS.MoveMemory(pBits[0], source, stride * srcHeight);
+	} else {
+		for (int y = 0; y < srcHeight; y++) {
+			OS.MoveMemory(pBits[0] + (long)y * dibStride, source + (long)y * stride, dibStride);
+		}
+	}
+	BLENDFUNCTION blend = new BLENDFUNCTION();
+	blend.BlendOp = OS.AC_SRC_OVER;
+	blend.SourceConstantAlpha = (byte)data.alpha;
+	blend.AlphaFormat = OS.AC_SRC_ALPHA;
+	long srcHdc = OS.CreateCompatibleDC(handle);
+	long oldSrcBitmap = OS.SelectObject(srcHdc, dib);
+	OS.AlphaBlend(handle, dest.x, dest.y, dest.width, dest.height, srcHdc, 0, 0, srcWidth, srcHeight, blend);
+	OS.SelectObject(srcHdc, oldSrcBitmap);
+	OS.DeleteDC(srcHdc);
+	OS.DeleteObject(dib);
+	return true;
+}
+
 void drawIcon(long imageHandle, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight, boolean simple) {
 	int technology = OS.GetDeviceCaps(handle, OS.TECHNOLOGY);
 
@@ -1269,7 +1320,7 @@ void drawBitmap(Image srcImage, long imageHandle, int srcX, int srcY, int srcWid
 			srcHeight == destHeight && destHeight == imgHeight;
 	}
 	boolean mustRestore = false;
-	NativeGC memGC = get(srcImage.memGC);
+	NativeGC memGC = srcImage.memGC instanceof NativeGC nativeGC ? nativeGC : null;
 	if (memGC != null && !memGC.isDisposed()) {
 		memGC.flush();
 		mustRestore = true;
@@ -3958,7 +4009,7 @@ void init(Drawable drawable, GCData data, long hDC) {
 	Image image = data.image;
 	if (image != null) {
 		data.hNullBitmap = OS.SelectObject(hDC, Image.win32_getHandle(image, data.nativeZoom));
-		image.memGC = createGC();
+		image.memGC = this;
 	}
 	int layout = data.layout;
 	if (layout != -1) {
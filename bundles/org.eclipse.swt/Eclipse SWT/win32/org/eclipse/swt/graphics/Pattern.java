@@ -45,6 +45,7 @@ public class Pattern extends Resource {
 	private float baseX1, baseY1, baseX2, baseY2;
 	private Color color1, color2;
 	private int alpha1, alpha2;
+	SkijaPatternShader skijaShader;
 
 	private final Map<Integer, PatternHandle> zoomToHandle = new HashMap<>();
 
@@ -84,6 +85,7 @@ public Pattern(Device device, Image image) {
 	if (image.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	this.device.checkGDIP();
 	this.image = image;
+	skijaShader = SkijaPatternShader.forImage(image);
 	init();
 	this.device.registerResourceWithZoomSupport(this);
 }
@@ -177,6 +179,11 @@ public Pattern(Device device, float x1, float y1, float x2, float y2, Color colo
 	this.alpha1 = alpha1;
 	this.alpha2 = alpha2;
 	this.image = null;
+	if (color1 == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (color1.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	if (color2 == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (color2.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	skijaShader = SkijaPatternShader.forGradient(x1, y1, x2, y2, color1, alpha1, color2, alpha2);
 	init();
 	this.device.registerResourceWithZoomSupport(this);
 }
@@ -204,6 +211,7 @@ void destroy() {
 	device.deregisterResourceWithZoomSupport(this);
 	zoomToHandle.values().forEach(PatternHandle::destroy);
 	zoomToHandle.clear();
+	skijaShader.dispose();
 	this.isDestroyed = true;
 }
 
@@ -290,6 +290,28 @@ private Rectangle getBoundsInPixels(long handle) {
 	return new Rectangle(rect.left, rect.top, rect.right - rect.left, rect.bottom - rect.top);
 }
 
+/**
+ * Returns the rectangles the receiver consists of.
+ */
+Rectangle[] getRectangles() {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	return applyUsingAnyHandle(regionHandle -> {
+		long handle = regionHandle.handle();
+		int nBytes = OS.GetRegionData(handle, 0, null);
+		int[] lpRgnData = new int[nBytes / 4];
+		OS.GetRegionData(handle, nBytes, lpRgnData);
+		// RGNDATAHEADER: dwSize, iType, nCount, nRgnSize, rcBound, followed by the RECTs
+		int count = lpRgnData[2];
+		Rectangle[] result = new Rectangle[count];
+		for (int i = 0, offset = 8; i < count; i++, offset += 4) {
+			Rectangle rect = new Rectangle(lpRgnData[offset], lpRgnData[offset + 1],
+					lpRgnData[offset + 2] - lpRgnData[offset], lpRgnData[offset + 3] - lpRgnData[offset + 1]);
+			result[i] = DPIUtil.scaleDown(rect, regionHandle.zoom());
+		}
+		return result;
+	});
+}
+
 /**
  * Returns an integer hash code for the receiver. Any two
  * objects that return <code>true</code> when passed to
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the transfer of a rendered frame from the Skia raster to the native
+ * GC of an image. The direct pixel transfer is compared with the transfer via
+ * an encoded image by the second fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SkijaCommitBenchmark {
+
+	@Param({ "64", "512", "1920" })
+	public int size;
+
+	private Display display;
+	private Image target;
+	private NativeGC nativeGC;
+	private SkijaGC gc;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		display = Display.getDefault();
+		target = new Image(display, size, size * 10 / 16);
+		nativeGC = new NativeGC(target);
+		gc = SkijaGC.createDefaultInstance(nativeGC);
+		gc.setBackground(display.getSystemColor(SWT.COLOR_CYAN));
+		gc.fillRectangle(0, 0, size, size);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		gc.dispose();
+		nativeGC.dispose();
+		target.dispose();
+		display.dispose();
+	}
+
+	@Benchmark
+	@Fork(1)
+	public void commit() {
+		gc.commit();
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dorg.eclipse.swt.skija.disableDirectTransfer=true")
+	public void commitEncoded() {
+		gc.commit();
+	}
+}
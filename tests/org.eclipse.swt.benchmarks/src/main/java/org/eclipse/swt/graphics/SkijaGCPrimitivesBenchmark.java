@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the drawing primitives of {@link IGraphicsContext} on a Skija GC
+ * which renders into a raster surface without a native GC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkijaGCPrimitivesBenchmark {
+
+	private static final int SIZE = 512;
+	private static final int[] POLYLINE = { 10, 10, 200, 40, 60, 180, 300, 300, 20, 400 };
+
+	private Display display;
+	private Image target;
+	private Image icon;
+	private Path path;
+	private Transform transform;
+	private SkijaGC gc;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		display = Display.getDefault();
+		target = new Image(display, SIZE, SIZE);
+		icon = new Image(display, 32, 32);
+		path = new Path(display);
+		path.moveTo(10, 10);
+		path.cubicTo(100, 0, 200, 300, 400, 100);
+		path.lineTo(400, 400);
+		path.close();
+		transform = new Transform(display);
+		transform.translate(5, 5);
+		transform.rotate(10);
+		gc = SkijaGC.createImageInstance(target);
+		gc.setForeground(display.getSystemColor(SWT.COLOR_DARK_BLUE));
+		gc.setBackground(display.getSystemColor(SWT.COLOR_YELLOW));
+		gc.setLineWidth(2);
+		// draw the image once, so its conversion is cached
+		gc.drawImage(icon, 0, 0);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		gc.dispose();
+		transform.dispose();
+		path.dispose();
+		icon.dispose();
+		target.dispose();
+		display.dispose();
+	}
+
+	@Benchmark
+	public void drawLine() {
+		gc.drawLine(10, 10, 500, 300);
+	}
+
+	@Benchmark
+	public void drawRectangle() {
+		gc.drawRectangle(10, 10, 300, 200);
+	}
+
+	@Benchmark
+	public void fillRectangle() {
+		gc.fillRectangle(10, 10, 300, 200);
+	}
+
+	@Benchmark
+	public void fillGradientRectangle() {
+		gc.fillGradientRectangle(10, 10, 300, 200, true);
+	}
+
+	@Benchmark
+	public void drawRoundRectangle() {
+		gc.drawRoundRectangle(10, 10, 300, 200, 16, 16);
+	}
+
+	@Benchmark
+	public void fillRoundRectangle() {
+		gc.fillRoundRectangle(10, 10, 300, 200, 16, 16);
+	}
+
+	@Benchmark
+	public void drawOval() {
+		gc.drawOval(10, 10, 300, 200);
+	}
+
+	@Benchmark
+	public void fillOval() {
+		gc.fillOval(10, 10, 300, 200);
+	}
+
+	@Benchmark
+	public void drawArc() {
+		gc.drawArc(10, 10, 300, 200, 30, 240);
+	}
+
+	@Benchmark
+	public void drawPolyline() {
+		gc.drawPolyline(POLYLINE);
+	}
+
+	@Benchmark
+	public void drawPolygon() {
+		gc.drawPolygon(POLYLINE);
+	}
+
+	@Benchmark
+	public void fillPolygon() {
+		gc.fillPolygon(POLYLINE);
+	}
+
+	@Benchmark
+	public void drawPoint() {
+		gc.drawPoint(100, 100);
+	}
+
+	@Benchmark
+	public void drawFocus() {
+		gc.drawFocus(10, 10, 300, 20);
+	}
+
+	@Benchmark
+	public void drawPath() {
+		gc.drawPath(path);
+	}
+
+	@Benchmark
+	public void drawImage() {
+		gc.drawImage(icon, 100, 100);
+	}
+
+	@Benchmark
+	public void drawImageScaled() {
+		gc.drawImage(icon, 0, 0, 32, 32, 100, 100, 64, 64);
+	}
+
+	@Benchmark
+	public void drawString() {
+		gc.drawString("Hello World", 20, 20, true);
+	}
+
+	@Benchmark
+	public void drawText() {
+		gc.drawText("Hello World", 20, 20, true);
+	}
+
+	@Benchmark
+	public void copyArea() {
+		gc.copyArea(0, 0, 100, 100, 200, 200);
+	}
+
+	@Benchmark
+	public void setClipping() {
+		gc.setClipping(10, 10, 300, 300);
+		gc.setClipping((Rectangle) null);
+	}
+
+	@Benchmark
+	public void setTransform() {
+		gc.setTransform(transform);
+		gc.setTransform(null);
+	}
+
+	@Benchmark
+	public void fillRectangleWithAlpha() {
+		gc.setAlpha(128);
+		gc.fillRectangle(10, 10, 300, 200);
+		gc.setAlpha(255);
+	}
+}
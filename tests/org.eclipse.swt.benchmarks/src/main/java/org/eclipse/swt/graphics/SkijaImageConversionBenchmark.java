@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the conversion of image data of each depth into a Skia image and
+ * back. No display is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkijaImageConversionBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16", "24", "32" })
+	public int depth;
+
+	@Param({ "16", "256" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean alpha;
+
+	private ImageData imageData;
+	private io.github.humbleui.skija.Image skijaImage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		imageData = new ImageData(size, size, depth, createPalette(depth));
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				imageData.setPixel(x, y, (x * 31 + y * 17) & ((1 << Math.min(depth, 24)) - 1));
+			}
+		}
+		if (alpha) {
+			byte[] alphaData = new byte[size * size];
+			for (int i = 0; i < alphaData.length; i++) {
+				alphaData[i] = (byte) i;
+			}
+			imageData.alphaData = alphaData;
+		}
+		skijaImage = SkijaGC.convertSWTImageToSkijaImage(imageData);
+	}
+
+	private static PaletteData createPalette(int depth) {
+		return switch (depth) {
+		case 16 -> new PaletteData(0x7C00, 0x03E0, 0x001F);
+		case 24 -> new PaletteData(0xFF, 0xFF00, 0xFF0000);
+		case 32 -> new PaletteData(0xFF00, 0xFF0000, 0xFF000000);
+		default -> {
+			RGB[] colors = new RGB[1 << depth];
+			for (int i = 0; i < colors.length; i++) {
+				int gray = i * 255 / (colors.length - 1);
+				colors[i] = new RGB(gray, 255 - gray, gray / 2);
+			}
+			yield new PaletteData(colors);
+		}
+		};
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		skijaImage.close();
+	}
+
+	@Benchmark
+	public void toSkijaImage() {
+		SkijaGC.convertSWTImageToSkijaImage(imageData).close();
+	}
+
+	@Benchmark
+	public ImageData toImageData() {
+		return SkijaGC.convertToSkijaImageData(skijaImage);
+	}
+}
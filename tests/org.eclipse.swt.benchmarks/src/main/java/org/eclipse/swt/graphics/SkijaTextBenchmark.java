@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+
+import org.eclipse.swt.widgets.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures drawing and measuring texts with a Skija GC. The repeated texts are
+ * served from the caches, the unique ones are shaped on every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkijaTextBenchmark {
+
+	@Param({ "short", "sentence", "tabs", "lines", "mnemonic", "unicode" })
+	public String kind;
+
+	@Param({ "false", "true" })
+	public boolean unique;
+
+	private Display display;
+	private Image target;
+	private SkijaGC gc;
+	private String text;
+	private long counter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		display = Display.getDefault();
+		target = new Image(display, 800, 200);
+		gc = SkijaGC.createImageInstance(target);
+		gc.setFont(display.getSystemFont());
+		text = switch (kind) {
+		case "short" -> "OK";
+		case "sentence" -> "The quick brown fox jumps over the lazy dog";
+		case "tabs" -> "Name\tType\tSize\tModified";
+		case "lines" -> "First line\nSecond line\nThird line";
+		case "mnemonic" -> "&File && Edit";
+		case "unicode" -> "Gr\u00fc\u00dfe \u2013 \u4f60\u597d \u0645\u0631\u062d\u0628\u0627";
+		default -> throw new IllegalArgumentException(kind);
+		};
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		gc.dispose();
+		target.dispose();
+		display.dispose();
+	}
+
+	private String nextText() {
+		return unique ? text + counter++ : text;
+	}
+
+	@Benchmark
+	public void drawText() {
+		gc.drawText(nextText(), 10, 10, true);
+	}
+
+	@Benchmark
+	public void drawTextWithBackground() {
+		gc.drawText(nextText(), 10, 10, false);
+	}
+
+	@Benchmark
+	public Point textExtent() {
+		return gc.textExtent(nextText());
+	}
+
+	@Benchmark
+	public Point stringExtent() {
+		return gc.stringExtent(nextText());
+	}
+}
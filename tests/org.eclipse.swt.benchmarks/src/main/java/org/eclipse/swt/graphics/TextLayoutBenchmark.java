@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the shaping and layout of the text of a {@link TextLayout}, for
+ * plain and styled texts of different lengths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextLayoutBenchmark {
+
+	private static final String LINE = "public static void main(String[] args) { System.out.println(args.length); }\n";
+
+	@Param({ "1", "10", "100" })
+	public int lines;
+
+	@Param({ "false", "true" })
+	public boolean styled;
+
+	@Param({ "0", "400" })
+	public int width;
+
+	private Display display;
+	private TextLayout layout;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		display = Display.getDefault();
+		layout = new TextLayout(display);
+		layout.setText(LINE.repeat(lines));
+		if (width > 0) {
+			layout.setWidth(width);
+		}
+		if (styled) {
+			TextStyle keyword = new TextStyle(null, display.getSystemColor(SWT.COLOR_DARK_MAGENTA), null);
+			TextStyle literal = new TextStyle(null, display.getSystemColor(SWT.COLOR_BLUE), null);
+			for (int line = 0; line < lines; line++) {
+				int offset = line * LINE.length();
+				layout.setStyle(keyword, offset, offset + 12);
+				layout.setStyle(literal, offset + 19, offset + 24);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		layout.dispose();
+		display.dispose();
+	}
+
+	@Benchmark
+	public void computeRuns() {
+		layout.freeRuns();
+		layout.computeRuns(null);
+	}
+}
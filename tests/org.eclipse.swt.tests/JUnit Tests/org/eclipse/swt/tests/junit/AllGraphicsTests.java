@@ -41,6 +41,7 @@ import org.junit.platform.suite.api.Suite;
 		Test_org_eclipse_swt_graphics_ImageLoaderEvent.class,
 		Test_org_eclipse_swt_graphics_Transform.class,
 		SkijaGCTest.class,
+		SkijaInstrumentationTest.class,
 })
 public class AllGraphicsTests {
 }
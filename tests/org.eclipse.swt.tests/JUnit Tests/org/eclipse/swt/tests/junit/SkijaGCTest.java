@@ -10,13 +10,40 @@
  *******************************************************************************/
 package org.eclipse.swt.tests.junit;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.function.Consumer;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Drawing;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.NativeGC;
+import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.SkijaBackingSurface;
 import org.eclipse.swt.graphics.SkijaGC;
+import org.eclipse.swt.graphics.SkijaImageCache;
+import org.eclipse.swt.graphics.SkijaPaintRecording;
+import org.eclipse.swt.graphics.SkijaTextBlobCache;
+import org.eclipse.swt.graphics.SkijaTextMeasurer;
+import org.eclipse.swt.graphics.SkijaTiledRasterizer;
+import org.eclipse.swt.graphics.Transform;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
 import org.junit.Test;
 
 public class SkijaGCTest {
@@ -37,4 +64,375 @@ public class SkijaGCTest {
 		nativeGC.dispose();
 	}
 
+	@Test
+	public void textMeasurerMatchesGC() {
+		Display display = Display.getDefault();
+		NativeGC nativeGC = new NativeGC(display);
+		SkijaGC gc = SkijaGC.createDefaultInstance(nativeGC);
+		gc.setFont(display.getSystemFont());
+		SkijaTextMeasurer measurer = SkijaTextMeasurer.getMeasurer(display);
+		measurer.resetCounters();
+
+		assertEquals(gc.textExtent("&Hello World"), measurer.textExtent(display.getSystemFont(), "&Hello World", 0));
+		assertEquals(gc.stringExtent("Hello"), measurer.stringExtent(display.getSystemFont(), "Hello"));
+		assertEquals(gc.getFontMetrics().getHeight(), measurer.getFontMetrics(display.getSystemFont()).getHeight());
+		measurer.textExtent(display.getSystemFont(), "Hello", 0);
+		assertEquals(1, measurer.getHits());
+		assertEquals(2, measurer.getMisses());
+
+		gc.dispose();
+		nativeGC.dispose();
+	}
+
+	@Test
+	public void drawImageUsesImageCache() {
+		Display display = Display.getDefault();
+		SkijaImageCache cache = SkijaImageCache.getCache(display);
+		Image target = new Image(display, 50, 50);
+		Image icon = new Image(display, 16, 16);
+		NativeGC nativeGC = new NativeGC(target);
+		SkijaGC gc = SkijaGC.createDefaultInstance(nativeGC);
+		cache.resetCounters();
+
+		gc.drawImage(icon, 0, 0);
+		gc.drawImage(icon, 20, 0);
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getHits());
+
+		NativeGC iconGC = new NativeGC(icon);
+		iconGC.dispose();
+		gc.drawImage(icon, 0, 20);
+		assertEquals(2, cache.getMisses());
+
+		int entryCount = cache.getEntryCount();
+		icon.dispose();
+		assertEquals(entryCount - 1, cache.getEntryCount());
+
+		gc.dispose();
+		nativeGC.dispose();
+		target.dispose();
+	}
+
+	@Test
+	public void drawTextUsesTextBlobCache() {
+		Display display = Display.getDefault();
+		SkijaTextBlobCache cache = SkijaTextBlobCache.getDefault();
+		Image target = new Image(display, 200, 50);
+		NativeGC nativeGC = new NativeGC(target);
+		SkijaGC gc = SkijaGC.createDefaultInstance(nativeGC);
+		String text = "Cached text " + System.nanoTime();
+		cache.resetCounters();
+
+		gc.drawText(text, 0, 0);
+		gc.drawText(text, 0, 20);
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getHits());
+
+		gc.drawText("\t" + text, 0, 0);
+		assertEquals(2, cache.getMisses());
+
+		gc.dispose();
+		nativeGC.dispose();
+		target.dispose();
+	}
+
+	@Test
+	public void imageInstanceTransfersIntoImage() {
+		Display display = Display.getDefault();
+		SkijaImageCache cache = SkijaImageCache.getCache(display);
+		Image image = new Image(display, 20, 20);
+		SkijaGC gc = SkijaGC.createImageInstance(image);
+		gc.setBackground(display.getSystemColor(SWT.COLOR_RED));
+		gc.fillRectangle(0, 0, 10, 20);
+		gc.dispose();
+
+		ImageData imageData = image.getImageData();
+		assertEquals(new RGB(255, 0, 0), imageData.palette.getRGB(imageData.getPixel(5, 5)));
+		assertNotEquals(new RGB(255, 0, 0), imageData.palette.getRGB(imageData.getPixel(15, 5)));
+
+		// the rendering is used when the image is drawn with Skija
+		Image target = new Image(display, 20, 20);
+		NativeGC nativeGC = new NativeGC(target);
+		SkijaGC targetGC = SkijaGC.createDefaultInstance(nativeGC);
+		cache.resetCounters();
+		targetGC.drawImage(image, 0, 0);
+		assertEquals(1, cache.getHits());
+		assertEquals(0, cache.getMisses());
+
+		targetGC.dispose();
+		nativeGC.dispose();
+		target.dispose();
+		image.dispose();
+	}
+
+	@Test
+	public void convertToRGBA_directWithAlphaData() {
+		ImageData imageData = new ImageData(3, 2, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+		imageData.alphaData = new byte[6];
+		for (int i = 0; i < 6; i++) {
+			imageData.setPixel(i % 3, i / 3, 0x010203 * (i + 1));
+			imageData.alphaData[i] = (byte) (40 * i);
+		}
+		assertArrayEquals(expectedRGBA(imageData), SkijaGC.convertToRGBA(imageData));
+	}
+
+	@Test
+	public void convertToRGBA_indexedWithTransparentPixel() {
+		RGB[] colors = new RGB[16];
+		for (int i = 0; i < colors.length; i++) {
+			colors[i] = new RGB(i * 16, 255 - i * 16, i);
+		}
+		ImageData imageData = new ImageData(5, 3, 4, new PaletteData(colors));
+		for (int i = 0; i < 15; i++) {
+			imageData.setPixel(i % 5, i / 5, i);
+		}
+		imageData.transparentPixel = 7;
+		assertArrayEquals(expectedRGBA(imageData), SkijaGC.convertToRGBA(imageData));
+	}
+
+	@Test
+	public void tiledRasterizationMatchesDirectDrawing() {
+		Consumer<GC> paint = gc -> {
+			Display display = Display.getDefault();
+			gc.setBackground(display.getSystemColor(SWT.COLOR_YELLOW));
+			gc.fillOval(10, 10, 270, 170);
+			gc.setForeground(display.getSystemColor(SWT.COLOR_DARK_BLUE));
+			gc.setLineWidth(3);
+			gc.drawLine(0, 0, 299, 199);
+			gc.setAlpha(128);
+			gc.setBackground(display.getSystemColor(SWT.COLOR_RED));
+			gc.fillRoundRectangle(50, 40, 200, 120, 30, 30);
+			gc.setAlpha(255);
+			for (int i = 0; i < 8; i++) {
+				gc.drawText("Tiles must not show at " + i, 20 + i * 7, 20 + i * 21, true);
+			}
+		};
+		assertSimilar(paintRecorded(false, paint), paintRecorded(true, paint));
+	}
+
+	@Test
+	public void tiledRasterizationMatchesDirectDrawingWithTransform() {
+		Consumer<GC> paint = gc -> {
+			Display display = Display.getDefault();
+			Transform transform = new Transform(display);
+			transform.translate(150, 100);
+			transform.rotate(30);
+			transform.scale(1.5f, 1.5f);
+			gc.setTransform(transform);
+			gc.setBackground(display.getSystemColor(SWT.COLOR_CYAN));
+			gc.fillRectangle(-80, -40, 160, 80);
+			gc.setForeground(display.getSystemColor(SWT.COLOR_BLACK));
+			gc.drawOval(-70, -30, 140, 60);
+			gc.drawText("rotated across tiles", -60, -8, true);
+			gc.setTransform(null);
+			transform.dispose();
+		};
+		assertSimilar(paintRecorded(false, paint), paintRecorded(true, paint));
+	}
+
+	@Test
+	public void unchangedControlsReplayTheirRecordedPaint() {
+		Display display = Display.getDefault();
+		boolean wasEnabled = SkijaTiledRasterizer.isEnabled();
+		// the renderers of controls created while tiling is enabled record their paints
+		SkijaTiledRasterizer.setEnabled(true);
+		Shell shell = new Shell(display);
+		Font font = new Font(display, "Arial", 14, SWT.BOLD);
+		try {
+			Label label = new Label(shell, SWT.NONE);
+			label.setText("recorded");
+			label.setSize(100, 30);
+			shell.open();
+			SkijaPaintRecording.resetCounters();
+
+			paint(label);
+			assertPaintCounts(1, 0);
+			paint(label);
+			paint(label);
+			assertPaintCounts(1, 2);
+
+			label.redraw();
+			paint(label);
+			assertPaintCounts(2, 2);
+			label.setFont(font);
+			paint(label);
+			assertPaintCounts(3, 2);
+			label.setBackground(display.getSystemColor(SWT.COLOR_YELLOW));
+			paint(label);
+			assertPaintCounts(4, 2);
+			label.setSize(120, 30);
+			paint(label);
+			assertPaintCounts(5, 2);
+			paint(label);
+			assertPaintCounts(5, 3);
+		} finally {
+			SkijaTiledRasterizer.setEnabled(wasEnabled);
+			shell.dispose();
+			font.dispose();
+		}
+	}
+
+	private static void paint(Control control) {
+		GC gc = new GC(control);
+		try {
+			Event event = new Event();
+			event.gc = gc;
+			control.notifyListeners(SWT.Paint, event);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	private static void assertPaintCounts(long recordings, long replays) {
+		assertEquals(recordings, SkijaPaintRecording.getRecordCount());
+		assertEquals(replays, SkijaPaintRecording.getReplayCount());
+	}
+
+	@Test
+	public void backingSurfaceScrollRendersOnlyTheExposedArea() {
+		Display display = Display.getDefault();
+		Shell shell = new Shell(display);
+		Canvas canvas = new Canvas(shell, SWT.NONE);
+		canvas.setSize(200, 100);
+		shell.open();
+		Rectangle area = new Rectangle(10, 20, 100, 50);
+		try {
+			assertEquals(new Rectangle(10, 20, 100, 10), scrolled(canvas, area, 0, 10));
+			assertEquals(new Rectangle(10, 60, 100, 10), scrolled(canvas, area, 0, -10));
+			assertEquals(new Rectangle(10, 20, 15, 50), scrolled(canvas, area, 15, 0));
+			assertEquals(new Rectangle(95, 20, 15, 50), scrolled(canvas, area, -15, 0));
+			// nothing of the rendering stays in the area
+			assertEquals(area, scrolled(canvas, area, 0, 50));
+			assertEquals(area, scrolled(canvas, area, 0, -80));
+			assertEquals(area, scrolled(canvas, area, 200, 0));
+			assertEquals(area, scrolled(canvas, area, 5, 5));
+
+			// scrolls which are not painted yet accumulate
+			SkijaBackingSurface surface = rendered(canvas);
+			assertTrue(surface.scroll(area, 0, 10));
+			assertTrue(surface.scroll(area, 0, 10));
+			assertEquals(new Rectangle(10, 20, 100, 20), surface.getRenderArea());
+			assertFalse(surface.scroll(new Rectangle(0, 0, 200, 100), 0, 10));
+
+			// an outdated part within the area is moved along
+			surface = rendered(canvas);
+			surface.invalidate(new Rectangle(30, 30, 10, 10));
+			assertNull(surface.getRenderArea());
+			assertTrue(surface.scroll(area, 0, 10));
+			assertEquals(new Rectangle(10, 20, 100, 30), surface.getRenderArea());
+			// and one outside of the area stays in place
+			surface = rendered(canvas);
+			surface.invalidate(new Rectangle(0, 0, 5, 5));
+			assertTrue(surface.scroll(area, 0, -10));
+			assertEquals(new Rectangle(0, 0, 110, 70), surface.getRenderArea());
+			surface.release();
+
+			// there is no rendering to shift
+			surface = new SkijaBackingSurface();
+			assertFalse(surface.scroll(area, 0, 10));
+			surface = rendered(canvas);
+			surface.invalidate();
+			assertFalse(surface.scroll(area, 0, 10));
+			surface.release();
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	private static Rectangle scrolled(Canvas canvas, Rectangle area, int deltaX, int deltaY) {
+		SkijaBackingSurface surface = rendered(canvas);
+		try {
+			assertTrue(surface.scroll(area, deltaX, deltaY));
+			return surface.getRenderArea();
+		} finally {
+			surface.release();
+		}
+	}
+
+	private static SkijaBackingSurface rendered(Canvas canvas) {
+		SkijaBackingSurface surface = new SkijaBackingSurface();
+		NativeGC nativeGC = new NativeGC(canvas);
+		SkijaGC gc = SkijaGC.createDefaultInstance(nativeGC, canvas, surface);
+		gc.fillRectangle(0, 0, 200, 100);
+		gc.dispose();
+		nativeGC.dispose();
+		return surface;
+	}
+
+	private static ImageData paintRecorded(boolean tiled, Consumer<GC> paint) {
+		Display display = Display.getDefault();
+		Shell shell = new Shell(display);
+		Canvas canvas = new Canvas(shell, SWT.NONE);
+		canvas.setSize(300, 200);
+		Image target = new Image(display, 300, 200);
+		GC targetGC = new GC(target);
+		boolean wasEnabled = SkijaTiledRasterizer.isEnabled();
+		int tileSize = SkijaTiledRasterizer.getTileSize();
+		SkijaTiledRasterizer.setEnabled(tiled);
+		SkijaTiledRasterizer.setTileSize(64);
+		SkijaTiledRasterizer.resetCounters();
+		try {
+			targetGC.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+			targetGC.fillRectangle(0, 0, 300, 200);
+			GC gc = Drawing.createGraphicsContext(targetGC, canvas);
+			gc.setFont(display.getSystemFont());
+			gc.setAntialias(SWT.ON);
+			new SkijaPaintRecording().paint(gc, 300, 200, 0, paint);
+			gc.commit();
+			if (gc != targetGC) {
+				gc.dispose();
+			}
+			assertEquals(tiled ? 1 : 0, SkijaTiledRasterizer.getPictureCount());
+			targetGC.dispose();
+			return target.getImageData();
+		} finally {
+			SkijaTiledRasterizer.setEnabled(wasEnabled);
+			SkijaTiledRasterizer.setTileSize(tileSize);
+			if (!targetGC.isDisposed()) {
+				targetGC.dispose();
+			}
+			target.dispose();
+			shell.dispose();
+		}
+	}
+
+	/**
+	 * Asserts that the pixels only differ by the rounding of anti-aliased
+	 * coverage.
+	 */
+	private static void assertSimilar(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++) {
+			for (int x = 0; x < expected.width; x++) {
+				RGB expectedRGB = expected.palette.getRGB(expected.getPixel(x, y));
+				RGB actualRGB = actual.palette.getRGB(actual.getPixel(x, y));
+				int difference = Math.max(Math.abs(expectedRGB.red - actualRGB.red),
+						Math.max(Math.abs(expectedRGB.green - actualRGB.green),
+								Math.abs(expectedRGB.blue - actualRGB.blue)));
+				assertTrue("pixel " + x + "," + y + ": " + expectedRGB + " != " + actualRGB, difference <= 2);
+			}
+		}
+	}
+
+	private static byte[] expectedRGBA(ImageData imageData) {
+		byte[] expected = new byte[imageData.width * imageData.height * 4];
+		for (int y = 0; y < imageData.height; y++) {
+			for (int x = 0; x < imageData.width; x++) {
+				int pixel = imageData.getPixel(x, y);
+				RGB rgb = imageData.palette.getRGB(pixel);
+				int index = (y * imageData.width + x) * 4;
+				expected[index] = (byte) rgb.red;
+				expected[index + 1] = (byte) rgb.green;
+				expected[index + 2] = (byte) rgb.blue;
+				if (imageData.transparentPixel != -1) {
+					expected[index + 3] = (byte) (pixel == imageData.transparentPixel ? 0 : 255);
+				} else {
+					expected[index + 3] = imageData.alphaData[y * imageData.width + x];
+				}
+			}
+		}
+		return expected;
+	}
+
 }
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.SkijaGC;
+import org.eclipse.swt.graphics.SkijaInstrumentation;
+import org.eclipse.swt.widgets.Display;
+import org.junit.Test;
+
+public class SkijaInstrumentationTest {
+
+	@Test
+	public void recordsTimingsAndCounters() {
+		Display display = Display.getDefault();
+		boolean enabled = SkijaInstrumentation.isEnabled();
+		SkijaInstrumentation.setEnabled(true);
+		SkijaInstrumentation.reset();
+		try {
+			Image image = new Image(display, 50, 20);
+			SkijaGC gc = SkijaGC.createImageInstance(image);
+			gc.drawText("Instrumented " + System.nanoTime(), 0, 0);
+			gc.dispose();
+			image.dispose();
+
+			long begin = SkijaInstrumentation.begin();
+			SkijaInstrumentation.end(SkijaInstrumentation.Phase.PAINT, SkijaInstrumentationTest.class, begin);
+
+			SkijaInstrumentation.Snapshot snapshot = SkijaInstrumentation.getSnapshot();
+			assertEquals(1, snapshot.getCount(SkijaInstrumentation.Counter.SURFACES));
+			assertEquals(1, snapshot.getCount(SkijaInstrumentation.Counter.TEXT_BLOBS));
+			assertTrue(snapshot.getCount(SkijaInstrumentation.Counter.PAINTS) > 0);
+			assertEquals(1, snapshot.timings().size());
+			SkijaInstrumentation.Timing timing = snapshot.timings().get(0);
+			assertEquals(SkijaInstrumentation.Phase.PAINT, timing.phase());
+			assertEquals(SkijaInstrumentationTest.class.getName(), timing.controlClass());
+			assertEquals(1, timing.count());
+			assertEquals(1, Arrays.stream(timing.histogram()).sum());
+		} finally {
+			SkijaInstrumentation.reset();
+			SkijaInstrumentation.setEnabled(enabled);
+		}
+	}
+
+}
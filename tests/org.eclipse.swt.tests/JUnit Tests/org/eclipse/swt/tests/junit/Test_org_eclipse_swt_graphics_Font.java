@@ -25,6 +25,7 @@ import static org.junit.Assert.fail;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.SkijaFontCache;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Before;
 import org.junit.Test;
@@ -358,4 +359,30 @@ public void test_toString() {
 	assertNotNull(font.toString());
 }
 
+@Test
+public void test_skijaFontCacheSharesTypefacesAndEvicts() {
+	SkijaFontCache cache = SkijaFontCache.getCache(display);
+	cache.clear();
+	int maxFonts = cache.getMaxFonts();
+	try {
+		cache.resetCounters();
+		cache.getFont(new FontData("Arial", 10, 0), 100);
+		cache.getFont(new FontData("Arial", 10, 0), 100);
+		cache.getFont(new FontData("Arial", 12, 0), 100);
+		cache.getFont(new FontData("Arial", 12, 0), 200);
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getFontCount());
+		assertEquals(1, cache.getTypefaceCount());
+
+		cache.setMaxFonts(2);
+		assertEquals(2, cache.getFontCount());
+		assertEquals(1, cache.getEvictions());
+		cache.getFont(new FontData("Arial", 10, 0), 100);
+		assertEquals(4, cache.getMisses());
+	} finally {
+		cache.setMaxFonts(maxFonts);
+		cache.clear();
+	}
+}
+
 }
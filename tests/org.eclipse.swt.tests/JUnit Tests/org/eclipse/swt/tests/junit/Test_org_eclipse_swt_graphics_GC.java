@@ -37,10 +37,12 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.LineAttributes;
+import org.eclipse.swt.graphics.NativeGC;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.SkijaGC;
 import org.eclipse.swt.graphics.Transform;
 import org.eclipse.swt.internal.DPIUtil;
 import org.eclipse.swt.widgets.Canvas;
@@ -840,6 +842,81 @@ public void test_bug1288_createGCFromImageFromNonDisplayThread() throws Interrup
 	assertNull("Creating a GC from an Image without a device threw an exception", exceptionReference.get());
 }
 
+@Test
+public void test_offscreenSkijaGCIsTheGCOfItsImage() {
+	Image offscreenImage = new Image(display, 10, 10);
+	try {
+		SkijaGC skijaGC = SkijaGC.createImageInstance(offscreenImage, SWT.RIGHT_TO_LEFT);
+		try {
+			new GC(offscreenImage).dispose();
+			fail("No exception thrown for a second GC on an image with an offscreen GC");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for a second GC on an image with an offscreen GC", SWT.ERROR_INVALID_ARGUMENT, e);
+		}
+		skijaGC.setBackground(display.getSystemColor(SWT.COLOR_RED));
+		skijaGC.fillRectangle(0, 0, 2, 10);
+		skijaGC.dispose();
+
+		// the right to left instance draws mirrored, and the image accepts a GC again after the transfer
+		GC nativeGC = new GC(offscreenImage);
+		nativeGC.dispose();
+		ImageData imageData = offscreenImage.getImageData();
+		assertEquals(new RGB(255, 0, 0), imageData.palette.getRGB(imageData.getPixel(9, 5)));
+		assertNotEquals(new RGB(255, 0, 0), imageData.palette.getRGB(imageData.getPixel(0, 5)));
+	} finally {
+		offscreenImage.dispose();
+	}
+}
+
+@Test
+public void test_skijaAlphaIsAppliedWithoutLayers() {
+	Image offscreenImage = new Image(display, 20, 20);
+	SkijaGC skijaGC = SkijaGC.createImageInstance(offscreenImage);
+	skijaGC.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+	skijaGC.fillRectangle(0, 0, 20, 20);
+	skijaGC.setAlpha(128);
+	skijaGC.setBackground(display.getSystemColor(SWT.COLOR_RED));
+	skijaGC.fillRectangle(0, 0, 10, 20);
+	skijaGC.setAlpha(255);
+	skijaGC.setAlpha(64);
+	skijaGC.fillRectangle(10, 0, 10, 20);
+	assertEquals(0, skijaGC.getLayerCount());
+
+	// a text and its background are composited in one layer
+	skijaGC.drawText("A", 0, 0);
+	assertEquals(1, skijaGC.getLayerCount());
+	skijaGC.dispose();
+
+	ImageData imageData = offscreenImage.getImageData();
+	RGB rgb = imageData.palette.getRGB(imageData.getPixel(5, 15));
+	assertEquals(255, rgb.red);
+	assertEquals(127, rgb.green, 2);
+	assertEquals(127, rgb.blue, 2);
+	offscreenImage.dispose();
+}
+
+@Test
+public void test_skijaClippingKeepsAlphaLayer() {
+	Image target = new Image(display, 50, 50);
+	NativeGC nativeGC = new NativeGC(target);
+	SkijaGC skijaGC = SkijaGC.createDefaultInstance(nativeGC);
+
+	skijaGC.setClipping(new Rectangle(0, 0, 40, 40));
+	skijaGC.setClipping(new Rectangle(10, 10, 20, 20));
+	assertEquals(new Rectangle(10, 10, 20, 20), skijaGC.getClipping());
+	skijaGC.setAlpha(128);
+	skijaGC.setClipping(new Rectangle(5, 5, 30, 30));
+	assertEquals(new Rectangle(5, 5, 30, 30), skijaGC.getClipping());
+	assertEquals(128, skijaGC.getAlpha());
+	skijaGC.fillRectangle(0, 0, 50, 50);
+	skijaGC.setClipping((Rectangle) null);
+	assertEquals(new Rectangle(0, 0, 50, 50), skijaGC.getClipping());
+
+	skijaGC.dispose();
+	nativeGC.dispose();
+	target.dispose();
+}
+
 /* custom */
 Display display;
 Shell shell;
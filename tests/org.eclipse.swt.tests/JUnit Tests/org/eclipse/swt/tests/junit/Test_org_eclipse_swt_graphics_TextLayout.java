@@ -17,19 +17,31 @@ package org.eclipse.swt.tests.junit;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.SkijaParagraphShaper;
+import org.eclipse.swt.graphics.SkijaParagraphStyleCache;
 import org.eclipse.swt.graphics.TextLayout;
 import org.eclipse.swt.graphics.TextStyle;
 import org.eclipse.swt.widgets.Display;
@@ -607,7 +619,6 @@ public void test_getText() {
 }
 
 @Test
-@Ignore("Not working (yet)")
 public void test_getLocation() {
 	if (SwtTestUtil.isCocoa) {
 		// TODO Fix Cocoa failure.
@@ -798,7 +809,6 @@ public void test_getLineSpacing() {
 }
 
 @Test
-@Ignore("Not working (yet)")
 public void test_getOffset() {
 	boolean isCocoa = SwtTestUtil.isCocoa;
 	if (isCocoa) {
@@ -890,6 +900,37 @@ public void test_getOffset() {
 	layout.dispose();
 }
 
+@Test
+public void test_getOffsetOfLocations() {
+	TextLayout layout = new TextLayout(display);
+	String text = "Abcdef\nGhij\nK\uD83D\uDE00l";
+	layout.setText(text);
+	assertEquals(3, layout.getLineCount());
+	int[] trailing = new int[1];
+	for (int offset = 0; offset < text.length(); offset++) {
+		Rectangle line = layout.getLineBounds(layout.getLineIndex(offset));
+		Point leading = layout.getLocation(offset, false);
+		Point trailingLocation = layout.getLocation(offset, true);
+		assertEquals(line.y, leading.y);
+		assertTrue(leading.x <= trailingLocation.x);
+		if (text.charAt(offset) != '\n' && !Character.isLowSurrogate(text.charAt(offset))) {
+			int middle = (leading.x + trailingLocation.x) / 2;
+			assertEquals(offset, layout.getOffset(middle, line.y + line.height / 2, trailing));
+		}
+	}
+
+	// points outside of the text hit the nearest character
+	assertEquals(0, layout.getOffset(-10, -10, trailing));
+	assertEquals(0, trailing[0]);
+
+	// the surrogate pair is one cluster
+	assertEquals(15, layout.getNextOffset(13, SWT.MOVEMENT_CLUSTER));
+	assertEquals(13, layout.getPreviousOffset(15, SWT.MOVEMENT_CLUSTER));
+	assertEquals(13, layout.getOffset(layout.getLocation(13, true).x - 1, layout.getLineBounds(2).y, trailing));
+	assertEquals(2, trailing[0]);
+	layout.dispose();
+}
+
 @Test
 public void test_getTabs() {
 	TextLayout layout = new TextLayout(display);
@@ -1233,4 +1274,155 @@ public void test_Bug579335_win32_StyledText_LongLine() {
 			font.dispose();
 	}
 }
+
+@Test
+public void test_layoutsAreMeasuredOnSeveralThreads() throws Exception {
+	String text = "Measured on a worker thread";
+	TextLayout reference = new TextLayout(display);
+	reference.setText(text);
+	Rectangle expected = reference.getBounds();
+	reference.dispose();
+
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	try {
+		List<Future<Rectangle>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			results.add(executor.submit(() -> {
+				TextLayout layout = new TextLayout(display);
+				try {
+					layout.setText(text);
+					layout.setStyle(new TextStyle(null, null, display.getSystemColor(SWT.COLOR_YELLOW)), 0, 7);
+					return layout.getBounds();
+				} finally {
+					layout.dispose();
+				}
+			}));
+		}
+		for (Future<Rectangle> result : results) {
+			assertEquals(expected, result.get(10, TimeUnit.SECONDS));
+		}
+	} finally {
+		executor.shutdown();
+	}
+}
+
+@Test
+public void test_stylesOfTerminatedThreadsAreReleased() throws Exception {
+	SkijaParagraphStyleCache cache = SkijaParagraphStyleCache.getCache(display);
+	Runnable measure = () -> {
+		TextLayout layout = new TextLayout(display);
+		layout.setText("Shaped on a short-lived thread");
+		layout.getBounds();
+		layout.dispose();
+	};
+	measure.run();
+	Thread first = new Thread(measure);
+	first.start();
+	first.join();
+	int threads = cache.getThreadCount();
+
+	// each thread which shapes releases the styles of the terminated ones
+	for (int i = 0; i < 8; i++) {
+		Thread thread = new Thread(measure);
+		thread.start();
+		thread.join();
+	}
+	assertTrue(cache.getThreadCount() <= threads);
+}
+
+@Test
+public void test_prefetchedParagraphMatchesSynchronousShaping() {
+	String text = "Prefetched\tparagraph " + System.nanoTime();
+	TextLayout expected = new TextLayout(display);
+	TextLayout prefetched = new TextLayout(display);
+	SkijaParagraphShaper.resetCounters();
+	try {
+		expected.setText(text);
+		prefetched.setText(text);
+		SkijaParagraphShaper.prefetch(prefetched);
+		SkijaParagraphShaper.prefetch(prefetched);
+
+		assertEquals(expected.getBounds(), prefetched.getBounds());
+		assertEquals(1, SkijaParagraphShaper.getSubmittedCount());
+		assertEquals(1, SkijaParagraphShaper.getHitCount() + SkijaParagraphShaper.getMissCount());
+
+		// changing the text discards the pending shaping
+		prefetched.setText(text + text);
+		SkijaParagraphShaper.prefetch(prefetched);
+		prefetched.setText(text);
+		assertEquals(expected.getBounds(), prefetched.getBounds());
+		assertEquals(2, SkijaParagraphShaper.getSubmittedCount());
+	} finally {
+		expected.dispose();
+		prefetched.dispose();
+	}
+}
+
+@Test
+public void test_stylesAreInterned() {
+	SkijaParagraphStyleCache cache = SkijaParagraphStyleCache.getCache(display);
+	TextStyle keyword = new TextStyle(null, display.getSystemColor(SWT.COLOR_DARK_MAGENTA), null);
+	cache.resetCounters();
+	for (int i = 0; i < 10; i++) {
+		TextLayout layout = new TextLayout(display);
+		layout.setText("public void method" + i + "()");
+		layout.setStyle(keyword, 0, 5);
+		layout.getBounds();
+		layout.dispose();
+	}
+	// the keyword and the unstyled runs, each one is created once at most
+	assertTrue(cache.getMisses() <= 2);
+	assertTrue(cache.getHits() >= 28);
+	assertTrue(cache.getStyleCount() >= 2);
+}
+
+@Test
+public void test_disposedLayoutsAreNotRetained() throws InterruptedException {
+	List<WeakReference<TextLayout>> references = new ArrayList<>();
+	for (int i = 0; i < 100_000; i++) {
+		TextLayout layout = new TextLayout(display);
+		layout.setText("Layout " + i);
+		if (i % 200 == 0) {
+			// disposing discards the pending shaping
+			SkijaParagraphShaper.prefetch(layout);
+			references.add(new WeakReference<>(layout));
+		} else if (i % 100 == 0) {
+			layout.getBounds();
+			references.add(new WeakReference<>(layout));
+		}
+		layout.dispose();
+	}
+	for (int i = 0; i < 10 && references.stream().anyMatch(r -> r.get() != null); i++) {
+		System.gc();
+		Thread.sleep(10);
+	}
+	assertEquals(0, references.stream().filter(r -> r.get() != null).count());
+}
+
+@Test
+public void test_drawSelectionOntoGC() {
+	Image image = new Image(display, 100, 30);
+	GC gc = new GC(image);
+	gc.setBackground(display.getSystemColor(SWT.COLOR_WHITE));
+	gc.fillRectangle(0, 0, 100, 30);
+	TextLayout layout = new TextLayout(display);
+	layout.setText("MMMM");
+	Color red = display.getSystemColor(SWT.COLOR_RED);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	layout.draw(gc, 0, 0, 0, 3, red, red);
+	Rectangle bounds = layout.getBounds();
+	// the selection is painted over the same paragraph
+	layout.draw(gc, 0, 30 - bounds.height, 2, 3, blue, blue);
+	layout.dispose();
+	gc.dispose();
+
+	ImageData imageData = image.getImageData();
+	assertTrue(bounds.width < 90 && bounds.height < 15);
+	assertEquals(new RGB(255, 0, 0), imageData.palette.getRGB(imageData.getPixel(bounds.width / 2, bounds.height / 2)));
+	assertEquals(new RGB(255, 255, 255), imageData.palette.getRGB(imageData.getPixel(95, bounds.height / 2)));
+	int y = 30 - bounds.height / 2;
+	assertEquals(new RGB(0, 0, 255), imageData.palette.getRGB(imageData.getPixel(bounds.width * 7 / 8, y)));
+	assertNotEquals(new RGB(0, 0, 255), imageData.palette.getRGB(imageData.getPixel(bounds.width / 8, y)));
+	image.dispose();
+}
 }
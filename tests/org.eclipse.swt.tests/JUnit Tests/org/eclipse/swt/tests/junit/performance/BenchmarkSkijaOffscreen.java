@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.util.function.Function;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GCHandle;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.NativeGC;
+import org.eclipse.swt.graphics.SkijaGC;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Measures the throughput of rendering 1.000 thumbnails offscreen into images,
+ * with a native GC, with a Skija GC on top of a native GC and with a Skija GC
+ * rendering into the image without a native GC.
+ */
+public class BenchmarkSkijaOffscreen {
+	private static final int SIZE = 128;
+	private static final int THUMBNAILS = 1_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			Color red = display.getSystemColor(SWT.COLOR_RED);
+			Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+
+			Function<Image, GCHandle> nativeGC = NativeGC::new;
+			Function<Image, GCHandle> skijaOnNativeGC = image -> SkijaGC
+					.createDefaultInstance(new NativeGC(image));
+			Function<Image, GCHandle> offscreenGC = SkijaGC::createImageInstance;
+
+			render(display, nativeGC, red, blue);
+			render(display, skijaOnNativeGC, red, blue);
+			render(display, offscreenGC, red, blue);
+			for (int runs = 0; runs < 5; runs++) {
+				print("native       ", render(display, nativeGC, red, blue));
+				print("skija, native", render(display, skijaOnNativeGC, red, blue));
+				print("skija        ", render(display, offscreenGC, red, blue));
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void print(String name, long nanos) {
+		System.out.println(name + ": " + THUMBNAILS + " thumbnails: " + String.format("%,8d", nanos / 1_000_000)
+				+ " ms  " + String.format("%,10.1f", THUMBNAILS * 1e9 / nanos) + " thumbnails/s");
+	}
+
+	private static long render(Display display, Function<Image, GCHandle> gcFactory, Color foreground,
+			Color background) {
+		long start = System.nanoTime();
+		for (int i = 0; i < THUMBNAILS; i++) {
+			Image image = new Image(display, SIZE, SIZE);
+			GCHandle gc = gcFactory.apply(image);
+			gc.setForeground(foreground);
+			gc.setBackground(background);
+			gc.fillRectangle(0, 0, SIZE, SIZE);
+			for (int bar = 0; bar < 16; bar++) {
+				int height = (i + bar * 7) % SIZE;
+				gc.drawRectangle(bar * 8, SIZE - height, 6, height);
+			}
+			gc.drawLine(0, 0, SIZE, SIZE);
+			gc.drawString("#" + i, 4, 4, true);
+			if (gc instanceof SkijaGC skijaGC) {
+				skijaGC.commit();
+			}
+			gc.dispose();
+			image.getImageData();
+			image.dispose();
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.NativeGC;
+import org.eclipse.swt.graphics.SkijaGC;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Measures the time of drawing 100.000 mixed primitives (lines, dashed lines,
+ * rectangles, filled rectangles and strings) with a SkijaGC, as they occur when
+ * painting grids and tables.
+ */
+public class BenchmarkSkijaPrimitives {
+	private static final int SIZE = 1000;
+	private static final int PRIMITIVES = 100_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			Image image = new Image(display, SIZE, SIZE);
+			Color red = display.getSystemColor(SWT.COLOR_RED);
+			Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+			NativeGC nativeGC = new NativeGC(image);
+			SkijaGC gc = SkijaGC.createDefaultInstance(nativeGC);
+			gc.setForeground(red);
+			gc.setBackground(blue);
+
+			draw(gc);
+			for (int runs = 0; runs < 5; runs++) {
+				long nanos = draw(gc);
+				System.out.println(PRIMITIVES + " primitives: " + String.format("%,10d", nanos / 1_000_000) + " ms  "
+						+ String.format("%,8d", nanos / PRIMITIVES) + " ns/primitive");
+			}
+
+			gc.dispose();
+			nativeGC.dispose();
+			image.dispose();
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static long draw(SkijaGC gc) {
+		long start = System.nanoTime();
+		for (int i = 0; i < PRIMITIVES; i++) {
+			int x = i % SIZE;
+			int y = (i / SIZE) * 10 % SIZE;
+			switch (i % 5) {
+			case 0 -> gc.drawLine(x, 0, x, SIZE);
+			case 1 -> {
+				gc.setLineStyle(SWT.LINE_DOT);
+				gc.drawLine(0, y, SIZE, y);
+				gc.setLineStyle(SWT.LINE_SOLID);
+			}
+			case 2 -> gc.drawRectangle(x, y, 20, 10);
+			case 3 -> gc.fillRectangle(x, y, 20, 10);
+			default -> gc.drawString("Cell", x, y, true);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.SkijaTiledRasterizer;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Measures the frames per second of full-window repaints and of scrolling by
+ * one row of a custom-drawn Table.
+ * <p>
+ * Run once as is and once with
+ * <code>-Dorg.eclipse.swt.skija.disableDirectTransfer=true</code> to compare
+ * the direct pixel transfer from the Skia raster with the transfer via an
+ * encoded image.
+ * </p>
+ * <p>
+ * Run with <code>-Dorg.eclipse.swt.skija.tiledRaster=true</code> to rasterize
+ * the frames in tiles on all cores, and with
+ * <code>-Dbenchmark.width=3840 -Dbenchmark.height=2160</code> for 4K frames.
+ * </p>
+ */
+public class BenchmarkSkijaTableRepaint {
+	private static final int WIDTH = Integer.getInteger("benchmark.width", 1920);
+	private static final int HEIGHT = Integer.getInteger("benchmark.height", 1200);
+	private static final int WARMUP_FRAMES = 20;
+	private static final int FRAMES = 200;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			shell.setLayout(new FillLayout());
+			Table table = new Table(shell, SWT.FULL_SELECTION | SWT.V_SCROLL | SWT.H_SCROLL);
+			table.setHeaderVisible(true);
+			table.setLinesVisible(true);
+			for (int i = 0; i < 6; i++) {
+				TableColumn column = new TableColumn(table, SWT.NONE);
+				column.setText("Column " + i);
+				column.setWidth(WIDTH / 6);
+			}
+			for (int i = 0; i < 1000; i++) {
+				TableItem item = new TableItem(table, SWT.NONE);
+				for (int j = 0; j < 6; j++) {
+					item.setText(j, "Item " + i + "/" + j);
+				}
+			}
+			shell.setSize(WIDTH, HEIGHT);
+			shell.open();
+			while (display.readAndDispatch()) {
+				// settle the initial layout
+			}
+
+			repaint(table, WARMUP_FRAMES);
+			for (int runs = 0; runs < 5; runs++) {
+				long nanos = repaint(table, FRAMES);
+				double fps = FRAMES / (nanos / 1_000_000_000.0);
+				System.out.println("Table repaint " + WIDTH + "x" + HEIGHT + ": " + String.format("%,10.1f", fps)
+						+ " frames/s  " + String.format("%,15d", nanos / FRAMES) + " ns/frame");
+			}
+			if (SkijaTiledRasterizer.isEnabled()) {
+				System.out.println("Tiles per frame: " + SkijaTiledRasterizer.getTileCount()
+						/ Math.max(1, SkijaTiledRasterizer.getPictureCount()) + " of "
+						+ SkijaTiledRasterizer.getTileSize() + " pixels");
+			}
+			scroll(table, WARMUP_FRAMES);
+			for (int runs = 0; runs < 5; runs++) {
+				long nanos = scroll(table, FRAMES);
+				double fps = FRAMES / (nanos / 1_000_000_000.0);
+				System.out.println("Table scroll  " + WIDTH + "x" + HEIGHT + ": " + String.format("%,10.1f", fps)
+						+ " frames/s  " + String.format("%,15d", nanos / FRAMES) + " ns/frame");
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static long repaint(Table table, int frames) {
+		long start = System.nanoTime();
+		for (int i = 0; i < frames; i++) {
+			table.redraw();
+			table.update();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long scroll(Table table, int frames) {
+		long start = System.nanoTime();
+		for (int i = 0; i < frames; i++) {
+			table.setTopIndex(i % 2 == 0 ? 1 : 0);
+			table.update();
+		}
+		return System.nanoTime() - start;
+	}
+}